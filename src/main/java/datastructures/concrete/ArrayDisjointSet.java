@@ -1,7 +1,6 @@
 package datastructures.concrete;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
 import datastructures.interfaces.IDisjointSet;
 
 /**
@@ -13,7 +12,7 @@ import datastructures.interfaces.IDisjointSet;
  */
 public class ArrayDisjointSet<T> implements IDisjointSet<T> {
     private int[] pointers;
-    private IDictionary<T, Integer> items;
+    private ObjectIntDictionary<T> items;
     private int numElements;
 
     /**
@@ -30,7 +29,7 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
      */
     public ArrayDisjointSet(int size) {
         pointers = new int[size];
-        items = new ChainedHashDictionary<>();
+        items = new ObjectIntDictionary<>(size);
         numElements = 0;
     }
 
@@ -43,16 +42,13 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
      */
     @Override
     public void makeSet(T item) {
-        int index = getIndex(item);
-        if (index == -1) {
-            if (numElements == pointers.length) {
-                resize(numElements);
-            }
-            pointers[numElements] = -1;
-            items.put(item, numElements++);
-        } else {
+        if (!items.putIfAbsent(item, numElements)) {
             throw new IllegalArgumentException("ERROR: The item was already added to the set!");
         }
+        if (numElements == pointers.length) {
+            resize(numElements);
+        }
+        pointers[numElements++] = -1;
     }
 
     /**
@@ -110,10 +106,7 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
      * @return The associated int location of the item.
      */
     private int getIndex(T item) {
-        if (items.containsKey(item)) {
-            return items.get(item);
-        }
-        return -1;
+        return items.getOrDefault(item, -1);
     }
 
     /**
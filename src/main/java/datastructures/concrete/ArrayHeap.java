@@ -1,29 +1,87 @@
 package datastructures.concrete;
 
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import misc.exceptions.EmptyContainerException;
 
+import java.lang.reflect.Array;
+
 /**
  * See IPriorityQueue for details on what each method must do.
+ *
+ * The number of children per node (the arity) defaults to 4 and may be set to 2, 4, 8, or 16.
+ * The root is stored at index 0 and the children of the node at index i are stored at
+ * indices arity * i + 1 through arity * i + arity, the same layout for every arity.
+ *
+ * Removed elements are never left in the array, and the array shrinks again once the heap
+ * has emptied out (see setShrinkPolicy), so a heap that was briefly very large does not keep
+ * its old elements or its peak capacity reachable for the rest of its life.
  */
 public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
-    // See spec: you must implement a implement a 4-heap.
-    private static final int NUM_CHILDREN = 4;
+    private static final int DEFAULT_ARITY = 4;
     private static final int DEFAULT_CAPACITY = 1024;
+    private static final int DEFAULT_SHRINK_RATIO = 4;
     // You MUST use this field to store the contents of your heap.
     // You may NOT rename this field: we will be inspecting it within
     // our private tests.
     private T[] heap;
     private int curSize;
-
-    // Feel free to add more fields and constants.
+    // The arity is always a power of two, so children and parents are found with shifts
+    private final int arity;
+    private final int log2Arity;
+    // The array halves whenever fewer than 1/shrinkRatio of its slots are in use (0 = never),
+    // but never below minCapacity
+    private int shrinkRatio;
+    private int minCapacity;
 
     /**
      * Initializes the ArrayHeap by creating an empty generic array and setting the size to 0
      */
     public ArrayHeap() {
-        heap = makeArrayOfT(DEFAULT_CAPACITY);
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty ArrayHeap with room for the given number of elements
+     * @param capacity - how many elements the heap can hold before it has to grow
+     * Throws - IllegalArgumentException - if the capacity is negative
+     */
+    public ArrayHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY);
+    }
+
+    /**
+     * Initializes an empty ArrayHeap with room for the given number of elements, where each
+     * node has the given number of children
+     * @param capacity - how many elements the heap can hold before it has to grow
+     * @param arity - the number of children per node: 2, 4, 8, or 16
+     * Throws - IllegalArgumentException - if the capacity is negative or the arity is not supported
+     */
+    public ArrayHeap(int capacity, int arity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative!");
+        }
+        if (arity != 2 && arity != 4 && arity != 8 && arity != 16) {
+            throw new IllegalArgumentException("Arity must be 2, 4, 8, or 16!");
+        }
+        this.arity = arity;
+        this.log2Arity = Integer.numberOfTrailingZeros(arity);
+        heap = makeArrayOfT(capacity + 1);
         curSize = 0;
+        shrinkRatio = DEFAULT_SHRINK_RATIO;
+        // A heap presized (or bulk-built) for a huge batch must still be able to give the
+        // memory back, so only a capacity up to the default becomes the floor
+        minCapacity = Math.min(capacity, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes the ArrayHeap with every element of the given list, in linear time
+     * @param items - the items to put in the heap
+     * Throws - IllegalArgumentException - if any of the items is null
+     */
+    public ArrayHeap(IList<T> items) {
+        this(items.size());
+        insertAll(items);
     }
 
     /**
@@ -45,13 +103,38 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     /**
      * Method that finds and removes the minimum value from the heap
      * @return - the minimum value
+     * Throws - EmptyContainerException - if the heap is empty
      */
     @Override
     public T removeMin() {
         //Save the minimum value
         T min = peekMin();
-        //Set the last element to the top spot and percolate down in order to get the new minimum value at the top
-        heap[0] = heap[--curSize];
+        //Move the last element to the top spot, clearing its old slot, and percolate it down
+        //in order to get the new minimum value at the top
+        T last = heap[--curSize];
+        heap[curSize] = null;
+        if (curSize > 0) {
+            heap[0] = last;
+            percolateDown(0);
+        }
+        shrinkIfSparse();
+        return min;
+    }
+
+    /**
+     * Method that removes the minimum value and inserts the given item in its place, which is
+     * a single percolation instead of the two that removeMin followed by insert would take
+     * @param item - the item to insert into the heap
+     * @return - the minimum value before the item was inserted
+     * Throws - EmptyContainerException - if the heap is empty
+     * Throws - IllegalArgumentException - if the item is null
+     */
+    public T replaceMin(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null!");
+        }
+        T min = peekMin();
+        heap[0] = item;
         percolateDown(0);
         return min;
     }
@@ -81,13 +164,107 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
             throw new IllegalArgumentException("Item cannot be null!");
         }
         if (size() == heap.length - 1) {
-            enlargeArray(heap.length * 2 + 1);
+            resize(heap.length * 2 + 1);
         }
         int hole = curSize++;
         heap[hole] = item;
         percolateUp(hole);
     }
 
+    /**
+     * Method that inserts every element of the given list into the heap
+     * The elements are copied into the array in one pass and then heapified bottom-up,
+     * which takes linear time instead of the O(n log n) of inserting them one at a time
+     * @param items - the items to insert into the heap
+     * Throws - IllegalArgumentException - if any of the items is null; the heap is left unchanged
+     */
+    public void insertAll(IList<T> items) {
+        int count = items.size();
+        for (T item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("Item cannot be null!");
+            }
+        }
+        int oldSize = curSize;
+        ensureCapacity(curSize + count);
+        for (T item : items) {
+            heap[curSize++] = item;
+        }
+        restoreHeapAfterAppend(oldSize);
+    }
+
+    /**
+     * Method that moves every element of the other queue into this heap, leaving the other
+     * queue empty
+     * If the other queue is an ArrayHeap, its array is copied over in one block and the result
+     * is reheapified in linear time; any other queue has to be drained with removeMin
+     * @param other - the queue to take the elements from
+     * Throws - IllegalArgumentException - if the other queue is this heap
+     */
+    public void meld(IPriorityQueue<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot meld a heap into itself!");
+        }
+        int count = other.size();
+        if (count == 0) {
+            return;
+        }
+        int oldSize = curSize;
+        ensureCapacity(curSize + count);
+        if (other instanceof ArrayHeap) {
+            ArrayHeap<T> otherHeap = (ArrayHeap<T>) other;
+            System.arraycopy(otherHeap.heap, 0, heap, curSize, count);
+            curSize += count;
+            otherHeap.clear();
+        } else {
+            while (!other.isEmpty()) {
+                heap[curSize++] = other.removeMin();
+            }
+        }
+        restoreHeapAfterAppend(oldSize);
+    }
+
+    /**
+     * Method that removes every element from the heap
+     */
+    public void clear() {
+        for (int i = 0; i < curSize; i++) {
+            heap[i] = null;
+        }
+        curSize = 0;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Method that removes every element from the heap and returns them in ascending order
+     * The heap is sorted in place (heapsort), so the only extra work is the copy into the output
+     * @param output - the array to store the elements in; if it is too small, a new array of
+     *               the same runtime type is allocated instead
+     * @return - the array holding the elements, smallest first
+     */
+    @SuppressWarnings("unchecked")
+    public T[] drainSorted(T[] output) {
+        int count = curSize;
+        if (output.length < count) {
+            output = (T[]) Array.newInstance(output.getClass().getComponentType(), count);
+        }
+        // Repeatedly move the minimum into the slot freed at the end, leaving the array descending
+        while (curSize > 0) {
+            T min = heap[0];
+            heap[0] = heap[--curSize];
+            heap[curSize] = min;
+            if (curSize > 0) {
+                percolateDown(0);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            output[i] = heap[count - 1 - i];
+            heap[count - 1 - i] = null;
+        }
+        shrinkIfSparse();
+        return output;
+    }
+
     /**
      * Method that returns the number of elements in the heap.
      * @return - curSize (number of elements)
@@ -97,16 +274,142 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
         return curSize;
     }
 
+    /**
+     * Method that returns the number of children each node of the heap has.
+     * @return - the arity of the heap
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Method that returns how many elements the heap can hold before its array has to grow,
+     * which is a measure of how much memory the heap is holding on to
+     * @return - the current capacity
+     */
+    public int getCapacity() {
+        return heap.length - 1;
+    }
+
+    /**
+     * Method that sets when the heap gives memory back: whenever fewer than 1/shrinkRatio of
+     * its capacity is in use after a removal, the capacity is halved, but never below minCapacity.
+     * Since growing doubles the capacity, a ratio of at least 3 keeps a heap whose size hovers
+     * around a power of two from growing and shrinking over and over.
+     * By default the ratio is 4 and the minimum is the capacity the heap was created with or
+     * the default capacity of 1024, whichever is smaller.
+     * @param shrinkRatio - how sparse the array must get before it shrinks, or 0 to never shrink
+     * @param minCapacity - the capacity the heap never shrinks below
+     * Throws - IllegalArgumentException - if the ratio is not 0 or at least 3, or the minimum is negative
+     */
+    public void setShrinkPolicy(int shrinkRatio, int minCapacity) {
+        if (shrinkRatio != 0 && shrinkRatio < 3) {
+            throw new IllegalArgumentException("Shrink ratio must be 0 or at least 3!");
+        }
+        if (minCapacity < 0) {
+            throw new IllegalArgumentException("Minimum capacity cannot be negative!");
+        }
+        this.shrinkRatio = shrinkRatio;
+        this.minCapacity = minCapacity;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Method that shrinks the array to fit the elements currently in the heap (but not below
+     * the minimum capacity), regardless of the shrink ratio
+     */
+    public void trimToSize() {
+        int target = Math.max(curSize, minCapacity);
+        if (target < getCapacity()) {
+            resize(target + 1);
+        }
+    }
+
+    /**
+     * Method that grows the array, if needed, so that it can hold the given number of elements
+     * Unlike the growth done by insert, which doubles the array, this allocates exactly that much
+     * room, so a caller that knows its upper bound never holds more than it needs
+     * @param capacity - how many elements the heap must be able to hold
+     * Throws - IllegalArgumentException - if the capacity is negative
+     */
+    public void reserve(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative!");
+        }
+        if (capacity > getCapacity()) {
+            resize(capacity + 1);
+        }
+    }
+
+    /**
+     * Helper method that grows the array, if needed, so that it can hold the given number of elements
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > getCapacity()) {
+            resize(Math.max(capacity + 1, heap.length * 2 + 1));
+        }
+    }
+
+    /**
+     * Helper method that restores the heap property after elements were appended to the end of
+     * the array, given how many elements the heap held before
+     */
+    private void restoreHeapAfterAppend(int oldSize) {
+        int count = curSize - oldSize;
+        if (count * 4 < oldSize) {
+            // Sifting a handful of items up into a big heap is cheaper than reheapifying all of it
+            for (int i = oldSize; i < curSize; i++) {
+                percolateUp(i);
+            }
+        } else if (curSize > 1) {
+            for (int i = parentOf(curSize - 1); i >= 0; i--) {
+                percolateDown(i);
+            }
+        }
+    }
+
+    /**
+     * Helper method that halves the capacity, as often as needed, while the heap is sparse
+     * according to the shrink policy
+     */
+    private void shrinkIfSparse() {
+        if (shrinkRatio == 0) {
+            return;
+        }
+        int capacity = getCapacity();
+        if ((long) curSize * shrinkRatio >= capacity || capacity <= minCapacity) {
+            return;
+        }
+        while ((long) curSize * shrinkRatio < capacity && capacity > minCapacity) {
+            capacity = Math.max(capacity / 2, minCapacity);
+        }
+        if (capacity < getCapacity()) {
+            resize(capacity + 1);
+        }
+    }
+
     /**
      * Helper method that is used to resize the internal array
-     * @param newCapacity - the size to resize the array to
+     * @param newLength - the length of the new array; must leave room for every element
      */
-    private void enlargeArray(int newCapacity) {
+    private void resize(int newLength) {
         T[] oldData = heap;
-        heap = makeArrayOfT(newCapacity);
-        for (int i = 0; i < oldData.length; i++) {
-            heap[i] = oldData[i];
-        }
+        heap = makeArrayOfT(newLength);
+        System.arraycopy(oldData, 0, heap, 0, curSize);
+    }
+
+    /**
+     * Helper method that returns the index of the parent of the node at the given index
+     */
+    private int parentOf(int index) {
+        return (index - 1) >> log2Arity;
+    }
+
+    /**
+     * Helper method that returns the index of the first child of the node at the given index
+     */
+    private int firstChildOf(int index) {
+        return (index << log2Arity) + 1;
     }
 
     /**
@@ -114,12 +417,14 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
      * @param hole - the spot at which to start the percolation
      */
     private void percolateUp(int hole) {
-        int parentIndex = (hole - 1) / 4;
         T work = heap[hole];
-        while (hole > 0 && work.compareTo(heap[parentIndex]) < 0) {
+        while (hole > 0) {
+            int parentIndex = parentOf(hole);
+            if (work.compareTo(heap[parentIndex]) >= 0) {
+                break;
+            }
             heap[hole] = heap[parentIndex];
             hole = parentIndex;
-            parentIndex = (hole - 1) / 4;
         }
         heap[hole] = work;
     }
@@ -129,7 +434,7 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
      * @param hole - the spot at which to start the percolation
      */
     private void percolateDown(int hole) {
-        int childIndex1 = hole * 4 + 1;
+        int childIndex1 = firstChildOf(hole);
 
         T data = heap[hole];
         //If I have at least one child and if that child is smaller than data
@@ -137,7 +442,7 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
             int smallerIndex = getSmallerIndex(childIndex1);
             heap[hole] = heap[smallerIndex];
             hole = smallerIndex;
-            childIndex1 = hole * 4 + 1;
+            childIndex1 = firstChildOf(hole);
         }
         heap[hole] = data;
     }
@@ -152,8 +457,9 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
      * @return - the boolean expression for whether this is a valid child
      */
     private boolean isValidChild(int startIndex, T data) {
-        for (int i = startIndex; i <= startIndex + 3; i++) {
-            if (i < curSize && data.compareTo(heap[i]) > 0) {
+        int end = Math.min(startIndex + arity, curSize);
+        for (int i = startIndex; i < end; i++) {
+            if (data.compareTo(heap[i]) > 0) {
                 return true;
             }
         }
@@ -167,8 +473,9 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
      */
     private int getSmallerIndex(int startIndex) {
         int smallerIndex = startIndex;
-        for (int i = startIndex + 1; i <= startIndex + 3; i++) {
-            if (i < curSize && heap[i].compareTo(heap[smallerIndex]) < 0) {
+        int end = Math.min(startIndex + arity, curSize);
+        for (int i = startIndex + 1; i < end; i++) {
+            if (heap[i].compareTo(heap[smallerIndex]) < 0) {
                 smallerIndex = i;
             }
         }
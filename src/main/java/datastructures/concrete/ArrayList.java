@@ -0,0 +1,218 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An IList backed by a resizable array.
+ *
+ * Unlike DoubleLinkedList, get and set take constant time and iterating reads one contiguous
+ * array, which makes this the better choice for lists that are built once and then read,
+ * such as sorted results. Inserting or deleting anywhere but the end shifts every later element.
+ *
+ * Note: For more info on the expected behavior of the methods, see the source code for IList.
+ */
+public class ArrayList<T> implements IList<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private T[] data;
+    private int size;
+
+    /**
+     * Constructs an empty list.
+     */
+    public ArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty list with room for the given number of elements.
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("ERROR: Capacity cannot be negative!");
+        }
+        this.data = makeArrayOfT(capacity);
+        this.size = 0;
+    }
+
+    /**
+     * Constructs a list holding the first 'size' elements of the given array, without copying
+     * it. The list takes over the array, so the caller must not use it afterwards.
+     *
+     * @throws IllegalArgumentException if size < 0 or size > items.length
+     */
+    public ArrayList(T[] items, int size) {
+        if (size < 0 || size > items.length) {
+            throw new IllegalArgumentException("ERROR: Invalid size!");
+        }
+        this.data = items;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] makeArrayOfT(int length) {
+        return (T[]) new Object[length];
+    }
+
+    /**
+     * Adds the given item to the *end* of this IList.
+     */
+    @Override
+    public void add(T item) {
+        ensureCapacity(size + 1);
+        data[size++] = item;
+    }
+
+    /**
+     * Removes and returns the item from the *end* of this IList.
+     *
+     * @throws EmptyContainerException if the container is empty and there is no element to remove.
+     */
+    @Override
+    public T remove() {
+        if (isEmpty()) {
+            throw new EmptyContainerException("ERROR: There is no element to remove!");
+        }
+        T temp = data[--size];
+        data[size] = null;
+        return temp;
+    }
+
+    /**
+     * Returns the item located at the given index.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    @Override
+    public T get(int index) {
+        checkIndex(index, size);
+        return data[index];
+    }
+
+    /**
+     * Overwrites the element located at the given index with the new item.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    @Override
+    public void set(int index, T item) {
+        checkIndex(index, size);
+        data[index] = item;
+    }
+
+    /**
+     * Inserts the given item at the given index. If there already exists an element
+     * at that index, shift over that element and any subsequent elements one index
+     * higher.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size() + 1
+     */
+    @Override
+    public void insert(int index, T item) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        System.arraycopy(data, index, data, index + 1, size - index);
+        data[index] = item;
+        size++;
+    }
+
+    /**
+     * Deletes the item at the given index. If there are any elements located at a higher
+     * index, shift them all down by one.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    @Override
+    public T delete(int index) {
+        checkIndex(index, size);
+        T temp = data[index];
+        System.arraycopy(data, index + 1, data, index, size - index - 1);
+        data[--size] = null;
+        return temp;
+    }
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item
+     * in the list.
+     * <p>
+     * If the item does not exist in the list, return -1.
+     */
+    @Override
+    public int indexOf(T item) {
+        for (int i = 0; i < size; i++) {
+            if (item == null ? data[i] == null : item.equals(data[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements in the container.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns 'true' if this container contains the given element, and 'false' otherwise.
+     */
+    @Override
+    public boolean contains(T other) {
+        return indexOf(other) != -1;
+    }
+
+    /**
+     * Returns an iterator over the contents of this list.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new ArrayListIterator();
+    }
+
+    private void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("ERROR: Invalid Index!");
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > data.length) {
+            T[] oldData = data;
+            data = makeArrayOfT(Math.max(capacity, oldData.length * 2));
+            System.arraycopy(oldData, 0, data, 0, size);
+        }
+    }
+
+    private class ArrayListIterator implements Iterator<T> {
+        private int current = 0;
+
+        /**
+         * Returns 'true' if the iterator still has elements to look at;
+         * returns 'false' otherwise.
+         */
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        /**
+         * Returns the next item in the iteration and internally updates the
+         * iterator to advance one element forward.
+         *
+         * @throws NoSuchElementException if we have reached the end of the iteration and
+         *                                there are no more elements to look at.
+         */
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("ERROR: There is no such element!");
+            }
+            return data[current++];
+        }
+    }
+}
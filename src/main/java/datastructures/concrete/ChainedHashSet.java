@@ -36,9 +36,18 @@ public class ChainedHashSet<T> implements ISet<T> {
      */
     @Override
     public void add(T item) {
-        if (!map.containsKey(item)) {
-            map.put(item, null);
-        }
+        addIfAbsent(item);
+    }
+
+    /**
+     * Adds the given item to the set if it is not already there, hashing it only once.
+     * <p>
+     * Returns 'true' if the item was added and 'false' if the set already contained it.
+     */
+    @Override
+    public boolean addIfAbsent(T item) {
+        // Members map to TRUE, so a null result means the item was just added
+        return map.putIfAbsent(item, Boolean.TRUE) == null;
     }
 
     /**
@@ -48,9 +57,7 @@ public class ChainedHashSet<T> implements ISet<T> {
      */
     @Override
     public void remove(T item) {
-        if (map.size() > 0 && map.containsKey(item)) {
-            map.remove(item);
-        } else {
+        if (!map.removeIfPresent(item)) {
             throw new NoSuchElementException("ERROR: the item is not found. Can not remove.");
         }
     }
@@ -0,0 +1,226 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
+import datastructures.interfaces.IPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A 4-heap that remembers where each of its elements is stored, so that it can also
+ * find, remove, and decrease the key of any element in O(log n) time.
+ *
+ * Elements are located by their equals and hashCode methods, while their position in
+ * the heap is decided by compareTo. This means two elements may be "equal" while comparing
+ * differently -- for example, a vertex paired with its current distance -- which is exactly
+ * what decreaseKey relies on. Because of this, the heap may not contain two equal elements
+ * at the same time.
+ *
+ * See IPriorityQueue for details on what each of the common methods must do.
+ */
+public class IndexedArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
+    private static final int NUM_CHILDREN = 4;
+    private static final int DEFAULT_CAPACITY = 1024;
+    private T[] heap;
+    private int curSize;
+    // Maps each element to its current index in the heap array
+    private ObjectIntDictionary<T> positions;
+
+    /**
+     * Initializes the IndexedArrayHeap by creating an empty generic array and setting the size to 0
+     */
+    public IndexedArrayHeap() {
+        heap = makeArrayOfT(DEFAULT_CAPACITY);
+        positions = new ObjectIntDictionary<>();
+        curSize = 0;
+    }
+
+    /**
+     * This method will return a new, empty array of the given size
+     * that can contain elements of type T.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] makeArrayOfT(int size) {
+        return (T[]) (new Comparable[size]);
+    }
+
+    /**
+     * Method that finds and removes the minimum value from the heap
+     * @return - the minimum value
+     * Throws - EmptyContainerException - if the heap is empty
+     */
+    @Override
+    public T removeMin() {
+        T min = peekMin();
+        removeAt(0);
+        return min;
+    }
+
+    /**
+     * Method that returns the minimum value from the heap without removing the element
+     * @return - the minimum value
+     * Throws - EmptyContainerException - if the heap is empty
+     */
+    @Override
+    public T peekMin() {
+        if (size() == 0) {
+            throw new EmptyContainerException("Heap has no work");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Method that takes the given parameter and inserts the element into the heap
+     * Resizes the internal array if it is full when the insert is called
+     * @param item - the item to insert into the heap
+     * Throws - IllegalArgumentException - if the item is null or an equal item is already in the heap
+     */
+    @Override
+    public void insert(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null!");
+        }
+        // Records a provisional position; percolateUp overwrites it with the final one
+        if (!positions.putIfAbsent(item, curSize)) {
+            throw new IllegalArgumentException("Item is already in the heap!");
+        }
+        if (size() == heap.length) {
+            T[] oldData = heap;
+            heap = makeArrayOfT(heap.length * 2);
+            System.arraycopy(oldData, 0, heap, 0, curSize);
+        }
+        int hole = curSize++;
+        heap[hole] = item;
+        percolateUp(hole);
+    }
+
+    /**
+     * Method that finds the element equal to the given item and removes it from the heap
+     * @param item - the item to remove
+     * Throws - NoSuchElementException - if no equal item is in the heap
+     */
+    @Override
+    public void remove(T item) {
+        removeAt(indexOf(item));
+    }
+
+    /**
+     * Method that returns whether an element equal to the given item is in the heap
+     * @param item - the item to look for
+     * @return - true if the item is in the heap, false otherwise
+     */
+    public boolean contains(T item) {
+        return positions.containsKey(item);
+    }
+
+    /**
+     * Method that replaces the element equal to the given item with the item itself, which
+     * must compare less than or equal to the element it replaces, and moves it up accordingly
+     * @param item - the replacement item
+     * Throws - NoSuchElementException - if no equal item is in the heap
+     * Throws - IllegalArgumentException - if the item compares greater than the element it replaces
+     */
+    public void decreaseKey(T item) {
+        int index = indexOf(item);
+        if (item.compareTo(heap[index]) > 0) {
+            throw new IllegalArgumentException("Item cannot have a larger key than before!");
+        }
+        heap[index] = item;
+        percolateUp(index);
+    }
+
+    /**
+     * Method that returns the number of elements in the heap.
+     * @return - curSize (number of elements)
+     */
+    @Override
+    public int size() {
+        return curSize;
+    }
+
+    /**
+     * Helper method that looks up where the given item is stored
+     * @param item - the item to look for
+     * @return - the index of the item in the heap array
+     * Throws - NoSuchElementException - if the item is not in the heap
+     */
+    private int indexOf(T item) {
+        if (item == null) {
+            throw new NoSuchElementException("Item cannot be null!");
+        }
+        int index = positions.getOrDefault(item, -1);
+        if (index == -1) {
+            throw new NoSuchElementException("Item is not in the heap!");
+        }
+        return index;
+    }
+
+    /**
+     * Helper method that removes the element at the given index, filling the hole with the last element
+     * @param index - the index of the element to remove
+     */
+    private void removeAt(int index) {
+        positions.remove(heap[index]);
+        T last = heap[--curSize];
+        heap[curSize] = null;
+        if (index == curSize) {
+            return;
+        }
+        heap[index] = last;
+        if (index > 0 && last.compareTo(heap[(index - 1) / NUM_CHILDREN]) < 0) {
+            percolateUp(index);
+        } else {
+            percolateDown(index);
+        }
+    }
+
+    /**
+     * Helper method that moves the element at the given spot up until its parent is no larger
+     * @param hole - the spot at which to start the percolation
+     */
+    private void percolateUp(int hole) {
+        T work = heap[hole];
+        while (hole > 0) {
+            int parentIndex = (hole - 1) / NUM_CHILDREN;
+            if (work.compareTo(heap[parentIndex]) >= 0) {
+                break;
+            }
+            place(heap[parentIndex], hole);
+            hole = parentIndex;
+        }
+        place(work, hole);
+    }
+
+    /**
+     * Helper method that moves the element at the given spot down until none of its children are smaller
+     * @param hole - the spot at which to start the percolation
+     */
+    private void percolateDown(int hole) {
+        T data = heap[hole];
+        int firstChild = hole * NUM_CHILDREN + 1;
+        while (firstChild < curSize) {
+            int smallerIndex = firstChild;
+            int lastChild = Math.min(firstChild + NUM_CHILDREN, curSize);
+            for (int i = firstChild + 1; i < lastChild; i++) {
+                if (heap[i].compareTo(heap[smallerIndex]) < 0) {
+                    smallerIndex = i;
+                }
+            }
+            if (heap[smallerIndex].compareTo(data) >= 0) {
+                break;
+            }
+            place(heap[smallerIndex], hole);
+            hole = smallerIndex;
+            firstChild = hole * NUM_CHILDREN + 1;
+        }
+        place(data, hole);
+    }
+
+    /**
+     * Helper method that stores the item at the given index and records its new position
+     */
+    private void place(T item, int index) {
+        heap[index] = item;
+        positions.put(item, index);
+    }
+}
@@ -0,0 +1,235 @@
+package datastructures.concrete;
+
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A 4-heap of int values ordered by double keys, for searches that identify their work by
+ * int ids (such as the vertex ids used inside Graph).
+ *
+ * Values and keys are stored in parallel primitive arrays, so nothing is boxed and no
+ * object is allocated per entry. Every value must lie in [0, universe); the heap keeps an
+ * array from each value to its slot, so it can also find, remove, and decrease the key of
+ * any value in O(log n) time. A value may only be in the heap once at a time.
+ */
+public class IntDoubleHeap {
+    private static final int NUM_CHILDREN = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+    private int[] values;
+    private double[] keys;
+    // positions[value] is the slot holding that value, or -1 if it is not in the heap
+    private int[] positions;
+    private int curSize;
+
+    /**
+     * Constructs an empty heap that can hold the values 0 through universe - 1.
+     *
+     * @throws IllegalArgumentException if the universe is negative
+     */
+    public IntDoubleHeap(int universe) {
+        if (universe < 0) {
+            throw new IllegalArgumentException("The universe cannot be negative!");
+        }
+        int capacity = Math.max(Math.min(universe, DEFAULT_CAPACITY), 1);
+        values = new int[capacity];
+        keys = new double[capacity];
+        positions = new int[universe];
+        for (int i = 0; i < universe; i++) {
+            positions[i] = -1;
+        }
+        curSize = 0;
+    }
+
+    /**
+     * Inserts the given value with the given key.
+     *
+     * @throws IllegalArgumentException if the value is outside the universe or already in the heap
+     */
+    public void insert(int value, double key) {
+        if (contains(value)) {
+            throw new IllegalArgumentException("Value is already in the heap!");
+        }
+        if (curSize == values.length) {
+            int[] oldValues = values;
+            double[] oldKeys = keys;
+            values = new int[Math.min(curSize * 2, positions.length)];
+            keys = new double[values.length];
+            System.arraycopy(oldValues, 0, values, 0, curSize);
+            System.arraycopy(oldKeys, 0, keys, 0, curSize);
+        }
+        percolateUp(curSize++, value, key);
+    }
+
+    /**
+     * Removes and returns the value with the smallest key.
+     *
+     * @throws EmptyContainerException if the heap is empty
+     */
+    public int removeMin() {
+        int min = peekMin();
+        removeAt(0);
+        return min;
+    }
+
+    /**
+     * Returns, but does not remove, the value with the smallest key.
+     *
+     * @throws EmptyContainerException if the heap is empty
+     */
+    public int peekMin() {
+        if (curSize == 0) {
+            throw new EmptyContainerException("Heap has no work");
+        }
+        return values[0];
+    }
+
+    /**
+     * Returns the smallest key in the heap.
+     *
+     * @throws EmptyContainerException if the heap is empty
+     */
+    public double peekMinKey() {
+        if (curSize == 0) {
+            throw new EmptyContainerException("Heap has no work");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Returns 'true' if the given value is in the heap, and 'false' otherwise.
+     *
+     * @throws IllegalArgumentException if the value is outside the universe
+     */
+    public boolean contains(int value) {
+        if (value < 0 || value >= positions.length) {
+            throw new IllegalArgumentException("Value is outside the universe!");
+        }
+        return positions[value] != -1;
+    }
+
+    /**
+     * Returns the key the given value is currently stored with.
+     *
+     * @throws NoSuchElementException if the value is not in the heap
+     */
+    public double keyOf(int value) {
+        return keys[indexOf(value)];
+    }
+
+    /**
+     * Lowers the key of the given value.
+     *
+     * @throws NoSuchElementException if the value is not in the heap
+     * @throws IllegalArgumentException if the new key is larger than the current one
+     */
+    public void decreaseKey(int value, double key) {
+        int index = indexOf(value);
+        if (key > keys[index]) {
+            throw new IllegalArgumentException("Value cannot have a larger key than before!");
+        }
+        percolateUp(index, value, key);
+    }
+
+    /**
+     * Removes the given value from the heap.
+     *
+     * @throws NoSuchElementException if the value is not in the heap
+     */
+    public void remove(int value) {
+        removeAt(indexOf(value));
+    }
+
+    /**
+     * Removes every value from the heap, keeping its arrays for reuse.
+     */
+    public void clear() {
+        for (int i = 0; i < curSize; i++) {
+            positions[values[i]] = -1;
+        }
+        curSize = 0;
+    }
+
+    /**
+     * Returns the number of values in the heap.
+     */
+    public int size() {
+        return curSize;
+    }
+
+    /**
+     * Returns 'true' if the heap is empty, and 'false' otherwise.
+     */
+    public boolean isEmpty() {
+        return curSize == 0;
+    }
+
+    private int indexOf(int value) {
+        if (value < 0 || value >= positions.length || positions[value] == -1) {
+            throw new NoSuchElementException("Value is not in the heap!");
+        }
+        return positions[value];
+    }
+
+    /**
+     * Helper method that removes the entry at the given index, filling the hole with the last entry
+     */
+    private void removeAt(int index) {
+        positions[values[index]] = -1;
+        curSize--;
+        if (index == curSize) {
+            return;
+        }
+        int lastValue = values[curSize];
+        double lastKey = keys[curSize];
+        if (index > 0 && lastKey < keys[(index - 1) / NUM_CHILDREN]) {
+            percolateUp(index, lastValue, lastKey);
+        } else {
+            percolateDown(index, lastValue, lastKey);
+        }
+    }
+
+    /**
+     * Helper method that moves parents down until the given entry can be stored in the hole
+     */
+    private void percolateUp(int hole, int value, double key) {
+        while (hole > 0) {
+            int parentIndex = (hole - 1) / NUM_CHILDREN;
+            if (key >= keys[parentIndex]) {
+                break;
+            }
+            place(hole, values[parentIndex], keys[parentIndex]);
+            hole = parentIndex;
+        }
+        place(hole, value, key);
+    }
+
+    /**
+     * Helper method that moves children up until the given entry can be stored in the hole
+     */
+    private void percolateDown(int hole, int value, double key) {
+        int firstChild = hole * NUM_CHILDREN + 1;
+        while (firstChild < curSize) {
+            int smallerIndex = firstChild;
+            int lastChild = Math.min(firstChild + NUM_CHILDREN, curSize);
+            for (int i = firstChild + 1; i < lastChild; i++) {
+                if (keys[i] < keys[smallerIndex]) {
+                    smallerIndex = i;
+                }
+            }
+            if (keys[smallerIndex] >= key) {
+                break;
+            }
+            place(hole, values[smallerIndex], keys[smallerIndex]);
+            hole = smallerIndex;
+            firstChild = hole * NUM_CHILDREN + 1;
+        }
+        place(hole, value, key);
+    }
+
+    private void place(int index, int value, double key) {
+        values[index] = value;
+        keys[index] = key;
+        positions[value] = index;
+    }
+}
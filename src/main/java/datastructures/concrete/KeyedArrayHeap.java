@@ -0,0 +1,219 @@
+package datastructures.concrete;
+
+import misc.exceptions.EmptyContainerException;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A 4-heap ordered by a double key taken from each element, rather than by compareTo.
+ *
+ * The key of each element is extracted once, when it is inserted, and stored in a double[]
+ * that runs parallel to the element array. Percolating only ever compares those primitive
+ * keys, so finding the smallest child reads one contiguous block of doubles instead of
+ * following a reference to every child; the element array is only touched to move elements.
+ * The root is stored at index 3 so that each node's children share an aligned block of keys.
+ *
+ * An element's key must not change while the element is in the heap. Elements with equal
+ * keys come out in an arbitrary order.
+ */
+public class KeyedArrayHeap<T> {
+    private static final int NUM_CHILDREN = 4;
+    private static final int ROOT = NUM_CHILDREN - 1;
+    private static final int DEFAULT_CAPACITY = 1024;
+    private final ToDoubleFunction<? super T> keyExtractor;
+    private T[] heap;
+    private double[] keys;
+    private int curSize;
+
+    /**
+     * Initializes an empty heap that orders its elements by the given key
+     * @param keyExtractor - the function that computes the key of an element
+     */
+    public KeyedArrayHeap(ToDoubleFunction<? super T> keyExtractor) {
+        this(keyExtractor, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes an empty heap that orders its elements by the given key, with room for the
+     * given number of elements
+     * @param keyExtractor - the function that computes the key of an element
+     * @param capacity - how many elements the heap can hold before it has to grow
+     * Throws - IllegalArgumentException - if the key extractor is null or the capacity is negative
+     */
+    public KeyedArrayHeap(ToDoubleFunction<? super T> keyExtractor, int capacity) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException("Key extractor cannot be null!");
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative!");
+        }
+        this.keyExtractor = keyExtractor;
+        heap = makeArrayOfT(ROOT + capacity + 1);
+        keys = new double[heap.length];
+        curSize = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] makeArrayOfT(int size) {
+        return (T[]) (new Object[size]);
+    }
+
+    /**
+     * Method that finds and removes the element with the smallest key
+     * @return - the element with the smallest key
+     * Throws - EmptyContainerException - if the heap is empty
+     */
+    public T removeMin() {
+        T min = peekMin();
+        int last = ROOT + --curSize;
+        T lastItem = heap[last];
+        double lastKey = keys[last];
+        heap[last] = null;
+        if (curSize > 0) {
+            percolateDown(ROOT, lastItem, lastKey);
+        }
+        return min;
+    }
+
+    /**
+     * Method that returns the element with the smallest key without removing it
+     * @return - the element with the smallest key
+     * Throws - EmptyContainerException - if the heap is empty
+     */
+    public T peekMin() {
+        if (curSize == 0) {
+            throw new EmptyContainerException("Heap has no work");
+        }
+        return heap[ROOT];
+    }
+
+    /**
+     * Method that returns the smallest key in the heap
+     * @return - the key of the element peekMin would return
+     * Throws - EmptyContainerException - if the heap is empty
+     */
+    public double peekMinKey() {
+        if (curSize == 0) {
+            throw new EmptyContainerException("Heap has no work");
+        }
+        return keys[ROOT];
+    }
+
+    /**
+     * Method that inserts the given element into the heap, computing its key once
+     * @param item - the item to insert into the heap
+     * Throws - IllegalArgumentException - if the item is null
+     */
+    public void insert(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null!");
+        }
+        if (ROOT + curSize == heap.length - 1) {
+            T[] oldData = heap;
+            double[] oldKeys = keys;
+            heap = makeArrayOfT(heap.length * 2 + 1);
+            keys = new double[heap.length];
+            System.arraycopy(oldData, 0, heap, 0, ROOT + curSize);
+            System.arraycopy(oldKeys, 0, keys, 0, ROOT + curSize);
+        }
+        percolateUp(ROOT + curSize++, item, keyExtractor.applyAsDouble(item));
+    }
+
+    /**
+     * Method that keeps the heap to at most 'limit' elements of the largest keys: the given
+     * element is inserted if the heap holds fewer than 'limit' elements, and otherwise replaces
+     * the element with the smallest key if its own key is larger. Its key is computed once.
+     * @param item - the item to offer to the heap
+     * @param limit - the most elements the heap may hold
+     * @return - true if the item was kept, false if it was dropped
+     * Throws - IllegalArgumentException - if the item is null
+     */
+    public boolean offer(T item, int limit) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null!");
+        }
+        if (curSize < limit) {
+            insert(item);
+            return true;
+        }
+        double key = keyExtractor.applyAsDouble(item);
+        if (curSize == 0 || key <= keys[ROOT]) {
+            return false;
+        }
+        percolateDown(ROOT, item, key);
+        return true;
+    }
+
+    /**
+     * Method that removes every element from the heap, keeping its arrays for reuse
+     */
+    public void clear() {
+        for (int i = ROOT; i < ROOT + curSize; i++) {
+            heap[i] = null;
+        }
+        curSize = 0;
+    }
+
+    /**
+     * Method that returns the number of elements in the heap.
+     * @return - curSize (number of elements)
+     */
+    public int size() {
+        return curSize;
+    }
+
+    /**
+     * Method that returns whether the heap is empty
+     * @return - true if there are no elements in the heap, false otherwise
+     */
+    public boolean isEmpty() {
+        return curSize == 0;
+    }
+
+    /**
+     * Helper method that moves parents down until the given element can be stored in the hole
+     * @param hole - the spot at which to start the percolation
+     */
+    private void percolateUp(int hole, T item, double key) {
+        while (hole > ROOT) {
+            int parentIndex = ((hole - ROOT - 1) >> 2) + ROOT;
+            if (key >= keys[parentIndex]) {
+                break;
+            }
+            heap[hole] = heap[parentIndex];
+            keys[hole] = keys[parentIndex];
+            hole = parentIndex;
+        }
+        heap[hole] = item;
+        keys[hole] = key;
+    }
+
+    /**
+     * Helper method that moves smaller children up until the given element can be stored in the hole
+     * @param hole - the spot at which to start the percolation
+     */
+    private void percolateDown(int hole, T item, double key) {
+        int end = ROOT + curSize;
+        int firstChild = (hole - ROOT + 1) << 2;
+        while (firstChild < end) {
+            int smallerIndex = firstChild;
+            double smallerKey = keys[firstChild];
+            int lastChild = Math.min(firstChild + NUM_CHILDREN, end);
+            for (int i = firstChild + 1; i < lastChild; i++) {
+                if (keys[i] < smallerKey) {
+                    smallerIndex = i;
+                    smallerKey = keys[i];
+                }
+            }
+            if (smallerKey >= key) {
+                break;
+            }
+            heap[hole] = heap[smallerIndex];
+            keys[hole] = smallerKey;
+            hole = smallerIndex;
+            firstChild = (hole - ROOT + 1) << 2;
+        }
+        heap[hole] = item;
+        keys[hole] = key;
+    }
+}
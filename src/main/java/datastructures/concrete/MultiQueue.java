@@ -0,0 +1,214 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A relaxed priority queue that many threads can insert into and remove from at once.
+ *
+ * The elements are spread over c * p ordinary ArrayHeaps (p threads, c queues per thread),
+ * each guarded by its own lock. Inserting adds to a random heap that is not currently locked.
+ * Removing looks at the smallest element of two random heaps and takes the smaller of the two.
+ * No thread ever waits for a lock in the common case, so throughput scales with the number of
+ * threads instead of being limited by one global lock.
+ *
+ * The price is that removeMin is only approximately ordered: it returns an element that is
+ * close to (but not always exactly) the smallest one in the queue. Searches such as Dijkstra's
+ * algorithm stay correct with this, but may do some extra work. peekMin and size are exact
+ * whenever no other thread is changing the queue.
+ *
+ * This queue does not support remove.
+ */
+public class MultiQueue<T extends Comparable<T>> implements IPriorityQueue<T> {
+    private static final int DEFAULT_QUEUES_PER_THREAD = 2;
+    private static final int SHARD_CAPACITY = 64;
+    // How many random two-choice attempts removeMin makes before it scans every heap
+    private static final int MAX_RANDOM_ATTEMPTS = 32;
+
+    private final Shard<T>[] shards;
+    private final AtomicInteger size;
+
+    /**
+     * Initializes an empty MultiQueue sized for the number of available processors.
+     */
+    public MultiQueue() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUES_PER_THREAD);
+    }
+
+    /**
+     * Initializes an empty MultiQueue for the given number of threads, with the given number of
+     * heaps per thread. More heaps per thread means less contention but looser ordering.
+     *
+     * @throws IllegalArgumentException if either argument is less than 1
+     */
+    @SuppressWarnings("unchecked")
+    public MultiQueue(int threads, int queuesPerThread) {
+        if (threads < 1 || queuesPerThread < 1) {
+            throw new IllegalArgumentException("Threads and queues per thread must be positive!");
+        }
+        // Always keep at least two heaps so that removeMin has two to choose from
+        int count = Math.max(threads * queuesPerThread, 2);
+        shards = (Shard<T>[]) new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard<>();
+        }
+        size = new AtomicInteger(0);
+    }
+
+    /**
+     * Removes and returns an element that is close to the smallest one in the queue.
+     *
+     * @throws EmptyContainerException if the queue is empty
+     */
+    @Override
+    public T removeMin() {
+        // Claim an element first: once the claim succeeds, some heap is guaranteed to hold an
+        // element that no other thread has claimed, so the loop below always terminates
+        int current;
+        do {
+            current = size.get();
+            if (current == 0) {
+                throw new EmptyContainerException("Queue has no work");
+            }
+        } while (!size.compareAndSet(current, current - 1));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            for (int attempt = 0; attempt < MAX_RANDOM_ATTEMPTS; attempt++) {
+                Shard<T> first = shards[random.nextInt(shards.length)];
+                Shard<T> second = shards[random.nextInt(shards.length)];
+                Shard<T> chosen = smallerTop(first, second);
+                if (chosen != null && chosen.tryLock()) {
+                    try {
+                        if (!chosen.heap.isEmpty()) {
+                            return chosen.removeMin();
+                        }
+                    } finally {
+                        chosen.unlock();
+                    }
+                }
+            }
+            // The claimed element is hard to find at random (the queue is nearly empty), so look
+            // through every heap, waiting for locks if necessary
+            for (Shard<T> shard : shards) {
+                if (shard.top != null) {
+                    shard.lock();
+                    try {
+                        if (!shard.heap.isEmpty()) {
+                            return shard.removeMin();
+                        }
+                    } finally {
+                        shard.unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns, but does not remove, the smallest element in the queue. If other threads are
+     * changing the queue at the same time, the result may already be out of date.
+     *
+     * @throws EmptyContainerException if the queue is empty
+     */
+    @Override
+    public T peekMin() {
+        T min = null;
+        for (Shard<T> shard : shards) {
+            T top = shard.top;
+            if (top != null && (min == null || top.compareTo(min) < 0)) {
+                min = top;
+            }
+        }
+        if (min == null) {
+            throw new EmptyContainerException("Queue has no work");
+        }
+        return min;
+    }
+
+    /**
+     * Inserts the given item into the queue.
+     *
+     * @throws IllegalArgumentException if the item is null
+     */
+    @Override
+    public void insert(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null!");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Shard<T> shard = shards[random.nextInt(shards.length)];
+            if (shard.tryLock()) {
+                try {
+                    shard.insert(item);
+                } finally {
+                    shard.unlock();
+                }
+                // Only count the item once it can be found, so that a claim in removeMin
+                // always refers to an element that is really there
+                size.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * This queue does not support removing arbitrary elements.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void remove(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the number of elements contained within this queue.
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Helper method that returns whichever of the two heaps has the smaller top element, or null
+     * if both look empty.
+     */
+    private static <T extends Comparable<T>> Shard<T> smallerTop(Shard<T> first, Shard<T> second) {
+        T firstTop = first.top;
+        T secondTop = second.top;
+        if (firstTop == null) {
+            return secondTop == null ? null : second;
+        }
+        if (secondTop == null || firstTop.compareTo(secondTop) <= 0) {
+            return first;
+        }
+        return second;
+    }
+
+    /**
+     * One of the underlying heaps. The smallest element is mirrored into a volatile field so that
+     * other threads can compare heaps without taking their locks.
+     */
+    private static final class Shard<T extends Comparable<T>> extends ReentrantLock {
+        private final ArrayHeap<T> heap = new ArrayHeap<>(SHARD_CAPACITY);
+        private volatile T top;
+
+        // Both of these must be called while holding the lock
+        private void insert(T item) {
+            heap.insert(item);
+            top = heap.peekMin();
+        }
+
+        private T removeMin() {
+            T min = heap.removeMin();
+            top = heap.isEmpty() ? null : heap.peekMin();
+            return min;
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IPriorityQueue;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A pairing heap: a heap-ordered multiway tree where inserting, melding, and decreasing a
+ * key are all O(1), and removing the minimum is O(log n) amortized. This usually makes it
+ * faster than an array heap for workloads that decrease keys often, such as Prim's algorithm.
+ *
+ * Elements added with addWithHandle return a Node handle that can later be passed to
+ * decreaseKey or remove. A handle is only valid while its element is still in the heap it
+ * was added to (or a heap that heap was melded into); passing it to any other heap is
+ * rejected. To keep meld O(1), a node does not point at its heap directly but at an owner
+ * token, and melding redirects the other heap's token to this heap's, union-find style.
+ *
+ * Nodes for elements added with insert are never handed out, so once they are removed they
+ * are kept in a pool (of up to 4096 nodes by default) and reused by later inserts instead of
+ * being garbage. Nodes returned by addWithHandle are never pooled: the caller may still hold
+ * the handle after its element is removed, and reusing the node would silently make that
+ * stale handle refer to some other element.
+ *
+ * See IPriorityQueue for details on what each of the common methods must do.
+ */
+public class PairingHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
+    private static final int DEFAULT_POOL_LIMIT = 4096;
+
+    private Node<T> root;
+    private int size;
+    // The token every node of this heap resolves to; it never has a parent of its own
+    private Owner owner;
+    // Removed nodes kept for reuse, chained through their 'sibling' field
+    private Node<T> pool;
+    private int poolSize;
+    private final int poolLimit;
+    // Scratch space for the two-pass merge and for searching, reused between calls
+    private Node<T>[] scratch;
+
+    /**
+     * Initializes an empty PairingHeap.
+     */
+    public PairingHeap() {
+        this(DEFAULT_POOL_LIMIT);
+    }
+
+    /**
+     * Initializes an empty PairingHeap that keeps at most 'poolLimit' removed nodes for reuse.
+     *
+     * @throws IllegalArgumentException if the pool limit is negative
+     */
+    public PairingHeap(int poolLimit) {
+        if (poolLimit < 0) {
+            throw new IllegalArgumentException("Pool limit cannot be negative!");
+        }
+        this.poolLimit = poolLimit;
+        this.scratch = makeArrayOfNodes(16);
+        this.root = null;
+        this.size = 0;
+        this.owner = new Owner();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<T>[] makeArrayOfNodes(int length) {
+        return (Node<T>[]) new Node[length];
+    }
+
+    /**
+     * Removes and returns the smallest element in the heap.
+     *
+     * @throws EmptyContainerException if the heap is empty
+     */
+    @Override
+    public T removeMin() {
+        T min = peekMin();
+        Node<T> oldRoot = root;
+        root = mergePairs(oldRoot.child);
+        if (root != null) {
+            root.prev = null;
+        }
+        size--;
+        release(oldRoot);
+        return min;
+    }
+
+    /**
+     * Returns, but does not remove, the smallest element in the heap.
+     *
+     * @throws EmptyContainerException if the heap is empty
+     */
+    @Override
+    public T peekMin() {
+        if (root == null) {
+            throw new EmptyContainerException("Heap has no work");
+        }
+        return root.value;
+    }
+
+    /**
+     * Inserts the given item into the heap.
+     *
+     * @throws IllegalArgumentException if the item is null
+     */
+    @Override
+    public void insert(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null!");
+        }
+        Node<T> node = pool;
+        if (node != null) {
+            pool = node.sibling;
+            poolSize--;
+            node.sibling = null;
+            node.value = item;
+            node.inHeap = true;
+            node.owner = owner;
+        } else {
+            node = new Node<>(item, true, owner);
+        }
+        addNode(node);
+    }
+
+    /**
+     * Inserts the given item into the heap and returns a handle to it.
+     *
+     * @throws IllegalArgumentException if the item is null
+     */
+    public Node<T> addWithHandle(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null!");
+        }
+        Node<T> node = new Node<>(item, false, owner);
+        addNode(node);
+        return node;
+    }
+
+    /**
+     * Replaces the element of the given handle with a smaller (or equal) one.
+     *
+     * @throws IllegalArgumentException if the new item is null or larger than the current one
+     * @throws NoSuchElementException if the handle's element is not in this heap
+     */
+    public void decreaseKey(Node<T> node, T item) {
+        checkInHeap(node);
+        if (item == null || item.compareTo(node.value) > 0) {
+            throw new IllegalArgumentException("Item cannot be null or larger than before!");
+        }
+        node.value = item;
+        if (node != root) {
+            detach(node);
+            root = link(root, node);
+        }
+    }
+
+    /**
+     * Removes the element of the given handle from the heap.
+     *
+     * @throws NoSuchElementException if the handle's element is not in this heap
+     */
+    public void remove(Node<T> node) {
+        checkInHeap(node);
+        if (node == root) {
+            removeMin();
+            return;
+        }
+        detach(node);
+        Node<T> children = mergePairs(node.child);
+        if (children != null) {
+            root = link(root, children);
+        }
+        size--;
+        release(node);
+    }
+
+    /**
+     * Finds an element equal to the given item and removes it from the heap. Unlike the
+     * handle-based remove, this has to search the heap, so it takes O(n) time.
+     *
+     * @throws NoSuchElementException if the given item does not exist
+     */
+    @Override
+    public void remove(T item) {
+        Node<T> node = find(item);
+        if (node == null) {
+            throw new NoSuchElementException("Item is not in the heap!");
+        }
+        remove(node);
+    }
+
+    /**
+     * Moves every element of the other heap into this one in O(1) time, leaving the other
+     * heap empty. Handles into the other heap stay valid and now refer to this heap, and
+     * the other heap no longer accepts them.
+     *
+     * @throws IllegalArgumentException if the other heap is this heap
+     */
+    public void meld(PairingHeap<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot meld a heap into itself!");
+        }
+        if (other.root != null) {
+            root = (root == null) ? other.root : link(root, other.root);
+            size += other.size;
+            other.root = null;
+            other.size = 0;
+        }
+        other.owner.parent = owner;
+        other.owner = new Owner();
+    }
+
+    /**
+     * Returns the number of elements contained within this heap.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void addNode(Node<T> node) {
+        root = (root == null) ? node : link(root, node);
+        size++;
+    }
+
+    private void checkInHeap(Node<T> node) {
+        if (node == null || !node.inHeap) {
+            throw new NoSuchElementException("Node is not in a heap!");
+        }
+        if (ownerOf(node) != owner) {
+            throw new NoSuchElementException("Node is not in this heap!");
+        }
+    }
+
+    /**
+     * Helper method that follows the given node's owner token to the token of the heap that
+     * holds it now, pointing every token along the way straight at that one.
+     */
+    private static Owner ownerOf(Node<?> node) {
+        Owner top = node.owner;
+        while (top.parent != null) {
+            top = top.parent;
+        }
+        for (Owner token = node.owner; token != top; ) {
+            Owner next = token.parent;
+            token.parent = top;
+            token = next;
+        }
+        node.owner = top;
+        return top;
+    }
+
+    /**
+     * Helper method that makes the root with the larger element the leftmost child of the other
+     * and returns whichever root ends up on top. Both arguments must be roots.
+     */
+    private Node<T> link(Node<T> first, Node<T> second) {
+        if (second.value.compareTo(first.value) < 0) {
+            Node<T> temp = first;
+            first = second;
+            second = temp;
+        }
+        second.prev = first;
+        second.sibling = first.child;
+        if (first.child != null) {
+            first.child.prev = second;
+        }
+        first.child = second;
+        first.sibling = null;
+        first.prev = null;
+        return first;
+    }
+
+    /**
+     * Helper method that cuts the given non-root node (and its subtree) out of the tree.
+     */
+    private void detach(Node<T> node) {
+        if (node.prev.child == node) {
+            node.prev.child = node.sibling;
+        } else {
+            node.prev.sibling = node.sibling;
+        }
+        if (node.sibling != null) {
+            node.sibling.prev = node.prev;
+        }
+        node.prev = null;
+        node.sibling = null;
+    }
+
+    /**
+     * Helper method that combines a list of sibling trees into one with the standard two-pass
+     * pairing: link neighbours left to right, then fold the results together right to left.
+     */
+    private Node<T> mergePairs(Node<T> first) {
+        if (first == null) {
+            return null;
+        }
+        int count = 0;
+        while (first != null) {
+            Node<T> a = first;
+            Node<T> b = a.sibling;
+            if (b == null) {
+                first = null;
+                a.sibling = null;
+                a.prev = null;
+            } else {
+                first = b.sibling;
+                a.sibling = null;
+                b.sibling = null;
+                a.prev = null;
+                b.prev = null;
+                a = link(a, b);
+            }
+            if (count == scratch.length) {
+                Node<T>[] oldScratch = scratch;
+                scratch = makeArrayOfNodes(count * 2);
+                System.arraycopy(oldScratch, 0, scratch, 0, count);
+            }
+            scratch[count++] = a;
+        }
+        Node<T> result = scratch[--count];
+        scratch[count] = null;
+        while (count > 0) {
+            result = link(scratch[--count], result);
+            scratch[count] = null;
+        }
+        return result;
+    }
+
+    /**
+     * Helper method that searches the whole tree for a node holding an element equal to the item.
+     */
+    private Node<T> find(T item) {
+        if (root == null || item == null) {
+            return null;
+        }
+        int count = 0;
+        scratch[count++] = root;
+        Node<T> found = null;
+        while (count > 0 && found == null) {
+            // Walk one list of siblings, queueing each child list for later
+            for (Node<T> node = scratch[--count]; node != null; node = node.sibling) {
+                if (node.value.equals(item)) {
+                    found = node;
+                    break;
+                }
+                if (node.child != null) {
+                    if (count == scratch.length) {
+                        Node<T>[] oldScratch = scratch;
+                        scratch = makeArrayOfNodes(count * 2);
+                        System.arraycopy(oldScratch, 0, scratch, 0, count);
+                    }
+                    scratch[count++] = node.child;
+                }
+            }
+        }
+        while (count > 0) {
+            scratch[--count] = null;
+        }
+        return found;
+    }
+
+    /**
+     * Helper method that marks a removed node as such and returns it to the pool if it was never
+     * handed out.
+     */
+    private void release(Node<T> node) {
+        node.inHeap = false;
+        node.owner = null;
+        node.value = node.pooled ? null : node.value;
+        node.child = null;
+        node.prev = null;
+        node.sibling = null;
+        if (node.pooled && poolSize < poolLimit) {
+            node.sibling = pool;
+            pool = node;
+            poolSize++;
+        }
+    }
+
+    /**
+     * A handle to an element in a PairingHeap.
+     */
+    public static final class Node<T> {
+        private T value;
+        private Node<T> child;
+        private Node<T> sibling;
+        // The parent if this is the leftmost child, otherwise the previous sibling
+        private Node<T> prev;
+        private boolean inHeap;
+        private final boolean pooled;
+        // Resolves, through ownerOf, to the token of the heap holding this node
+        private Owner owner;
+
+        private Node(T value, boolean pooled, Owner owner) {
+            this.value = value;
+            this.pooled = pooled;
+            this.inHeap = true;
+            this.owner = owner;
+        }
+
+        /**
+         * Returns the element this handle refers to.
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Returns 'true' if this handle's element is still in a heap, and 'false' otherwise.
+         */
+        public boolean isInHeap() {
+            return inHeap;
+        }
+    }
+
+    /**
+     * Identifies a heap for its nodes. A heap that was melded away has its old token point at
+     * the token of the heap it was melded into.
+     */
+    private static final class Owner {
+        private Owner parent;
+    }
+}
@@ -6,6 +6,8 @@ import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 
 /**
@@ -70,6 +72,24 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         throw new NoSuchKeyException("Key cannot be found");
     }
 
+    /**
+     * Searches the array for the pair with the given key and returns its value,
+     * or the default value if the key is not in the array
+     *
+     * @param key          - the value for the pair that we are searching for
+     * @param defaultValue - the value to return if the key is missing
+     * @return - the matching value for the passed key, or defaultValue
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        for (int i = 0; i < size(); i++) {
+            if (isEqualKey(i, key)) {
+                return pairs[i].value;
+            }
+        }
+        return defaultValue;
+    }
+
     /**
      * The basic method used to add a key/value pair into the array or update the value if the key already exists
      *
@@ -84,11 +104,62 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
                 return;
             }
         }
-        if (size() == pairs.length) {
-            resize();
+        append(key, value);
+    }
+
+    /**
+     * Adds the key/value pair only if the key is not in the array, scanning the array once
+     *
+     * @param key   - the key that we are adding
+     * @param value - the value to store if the key is missing
+     * @return - the value already stored for the key, or null if the pair was added
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        int i = indexOfKey(key);
+        if (i != -1) {
+            return pairs[i].value;
         }
-        pairs[size()] = new Pair<K, V>(key, value);
-        size++;
+        append(key, value);
+        return null;
+    }
+
+    /**
+     * Returns the value stored for the key, computing and adding it first if the key is missing
+     *
+     * @param key             - the key we are searching for
+     * @param mappingFunction - computes the value for a missing key
+     * @return - the value stored for the key once this returns
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        int i = indexOfKey(key);
+        if (i != -1) {
+            return pairs[i].value;
+        }
+        V value = mappingFunction.apply(key);
+        append(key, value);
+        return value;
+    }
+
+    /**
+     * Adds the pair if the key is missing, otherwise combines the old value with the given one
+     *
+     * @param key               - the key that we are adding/updating
+     * @param value             - the value to add, or to combine with the old value
+     * @param remappingFunction - combines the old value with the given one
+     * @return - the value stored for the key once this returns
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        int i = indexOfKey(key);
+        if (i == -1) {
+            append(key, value);
+            return value;
+        }
+        V newValue = remappingFunction.apply(pairs[i].value, value);
+        pairs[i].value = newValue;
+        return newValue;
     }
 
     /**
@@ -122,6 +193,24 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         return returnValue;
     }
 
+    /**
+     * Removes the pair with the given key if it is in the array, scanning the array once
+     *
+     * @param key - the key we are searching for
+     * @return - true if a pair was removed, false if the key was not in the array
+     */
+    @Override
+    public boolean removeIfPresent(K key) {
+        int i = indexOfKey(key);
+        if (i == -1) {
+            return false;
+        }
+        System.arraycopy(pairs, i + 1, pairs, i, size() - i - 1);
+        pairs[size() - 1] = null;
+        size--;
+        return true;
+    }
+
     /**
      * Searches thru the array and returns true if the key exists
      *
@@ -190,6 +279,35 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         pairs = temp;
     }
 
+    /**
+     * A helper method that finds where the key is stored
+     *
+     * @param key - the key we are searching for
+     * @return - the index of the pair with the key, or -1 if there is none
+     */
+    private int indexOfKey(K key) {
+        for (int i = 0; i < size(); i++) {
+            if (isEqualKey(i, key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A helper method that adds a pair whose key is known not to be in the array yet
+     *
+     * @param key   - the key that we are adding
+     * @param value - the value that we are adding
+     */
+    private void append(K key, V value) {
+        if (size() == pairs.length) {
+            resize();
+        }
+        pairs[size()] = new Pair<K, V>(key, value);
+        size++;
+    }
+
     /**
      * A helper method that is a quick check for if the key matches
      *
@@ -6,15 +6,28 @@ import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * See the spec and IDictionary for more details on what each method should do
+ *
+ * By default, growing the table rehashes every entry at once. A dictionary built in incremental
+ * resize mode instead keeps the old table around after growing and moves a few of its buckets
+ * into the new table on every put, remove, or other update, so no single operation pays for the
+ * whole rehash. While that is going on, each key lives in exactly one of the two tables: the old
+ * one if its old bucket has not been moved yet, and the new one otherwise. Lookups check that
+ * one table and never move anything, and iterators walk the new table followed by whatever is
+ * left of the old one, so reads never pay for a move still in progress.
  */
 public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     // You may not change or rename this field: we will be inspecting
     // it using our private tests.
     private final double loadFactor = 0.70; //This should be a LOAD_FACTOR
     private static final int[] PRIMES;
+    // Buckets of the old table moved per update while resizing incrementally. The new table is
+    // about twice as large, so this finishes well before the new table needs to grow again.
+    private static final int BUCKETS_PER_STEP = 4;
 
     static {
         PRIMES = new int[] {313, 751, 1553, 3109, 6229, 12491, 24989, 49993, 99991, 199999, 400009, 800029, 1600061,
@@ -23,11 +36,15 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
 
     private IDictionary<K, V>[] chains;
     private int arraySize;
+    private final boolean incrementalResize;
+    // The table being emptied into 'chains', or null if no incremental resize is in progress.
+    // Buckets below 'migrated' have already been moved (and set to null).
+    private IDictionary<K, V>[] oldChains;
+    private int migrated;
 
     // constructor:
     public ChainedHashDictionary() {
-        chains = makeArrayOfChains(1553);
-        arraySize = 0;
+        this(1553);
     }
 
     /**
@@ -36,8 +53,21 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      * @param size - the size to initialize the dictionary to
      */
     public ChainedHashDictionary(int size) {
+        this(size, false);
+    }
+
+    /**
+     * Constructor that can turn on incremental resizing
+     * Used when a dictionary grows very large and no single update should stall on a full rehash
+     * @param size - the size to initialize the dictionary to
+     * @param incrementalResize - whether to spread each rehash over the following updates
+     */
+    public ChainedHashDictionary(int size, boolean incrementalResize) {
         chains = makeArrayOfChains(size);
         arraySize = 0;
+        this.incrementalResize = incrementalResize;
+        oldChains = null;
+        migrated = 0;
     }
 
     /**
@@ -61,8 +91,20 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     @Override
     public V get(K key) {
-        checkForChain(key);
-        return chains[hasher(key, chains.length)].get(key);
+        return existingChain(key).get(key);
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or the default value if the
+     * dictionary does not contain the key. Only hashes the key once.
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        IDictionary<K, V> chain = chainOrNull(key);
+        if (chain == null) {
+            return defaultValue;
+        }
+        return chain.getOrDefault(key, defaultValue);
     }
 
     /**
@@ -71,16 +113,55 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     @Override
     public void put(K key, V value) {
-        if (chains[hasher(key, chains.length)] == null) {
-            chains[hasher(key, chains.length)] = new ArrayDictionary<>();
-        }
-        if (!chains[hasher(key, chains.length)].containsKey(key)) {
-            arraySize++;
-            chains[hasher(key, chains.length)].put(key, value);
-            checkForResize();
-        } else {
-            chains[hasher(key, chains.length)].put(key, value);
-        }
+        migrateStep();
+        IDictionary<K, V> chain = chainFor(key);
+        int oldSize = chain.size();
+        chain.put(key, value);
+        afterInsert(chain, oldSize);
+    }
+
+    /**
+     * Adds the key-value pair only if the key is not already in the dictionary. Returns the
+     * value already associated with the key, or null if the pair was added.
+     * Hashes the key once and searches its chain once.
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        migrateStep();
+        IDictionary<K, V> chain = chainFor(key);
+        int oldSize = chain.size();
+        V existing = chain.putIfAbsent(key, value);
+        afterInsert(chain, oldSize);
+        return existing;
+    }
+
+    /**
+     * Returns the value associated with the given key, computing and storing it first if the
+     * key is not in the dictionary. Hashes the key once and searches its chain once.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        migrateStep();
+        IDictionary<K, V> chain = chainFor(key);
+        int oldSize = chain.size();
+        V value = chain.computeIfAbsent(key, mappingFunction);
+        afterInsert(chain, oldSize);
+        return value;
+    }
+
+    /**
+     * Stores the given value if the key is not in the dictionary, and otherwise combines the old
+     * value with it. Returns the value that ends up stored.
+     * Hashes the key once and searches its chain once.
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        migrateStep();
+        IDictionary<K, V> chain = chainFor(key);
+        int oldSize = chain.size();
+        V newValue = chain.merge(key, value, remappingFunction);
+        afterInsert(chain, oldSize);
+        return newValue;
     }
 
     /**
@@ -90,21 +171,34 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     @Override
     public V remove(K key) {
-        checkForChain(key);
-        V returnValue = chains[hasher(key, chains.length)].remove(key);
+        migrateStep();
+        V returnValue = existingChain(key).remove(key);
         arraySize--;
         return returnValue;
     }
 
     /**
-     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     * Removes the key-value pair for the given key if it is in the dictionary, returning
+     * whether it was. Hashes the key once and searches its chain once.
      */
     @Override
-    public boolean containsKey(K key) {
-        if (chains[hasher(key, chains.length)] == null) {
+    public boolean removeIfPresent(K key) {
+        migrateStep();
+        IDictionary<K, V> chain = chainOrNull(key);
+        if (chain == null || !chain.removeIfPresent(key)) {
             return false;
         }
-        return chains[hasher(key, chains.length)].containsKey(key);
+        arraySize--;
+        return true;
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    @Override
+    public boolean containsKey(K key) {
+        IDictionary<K, V> chain = chainOrNull(key);
+        return chain != null && chain.containsKey(key);
     }
 
     /**
@@ -119,67 +213,161 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     @Override
     public Iterator<KVPair<K, V>> iterator() {
         // Note: you do not need to change this method
-        return new ChainedIterator<>(this.chains);
+        return new ChainedIterator<>(this.chains, this.oldChains);
+    }
+
+    /**
+     * Returns the chain the given key belongs in, or null if that chain does not exist yet.
+     */
+    private IDictionary<K, V> chainOrNull(K key) {
+        int hashCode = hashCodeOf(key);
+        if (oldChains != null) {
+            int oldIndex = hasher(hashCode, oldChains.length);
+            if (oldIndex >= migrated) {
+                return oldChains[oldIndex];
+            }
+        }
+        return chains[hasher(hashCode, chains.length)];
     }
 
     /**
-     * if a chain is NUll (does not exist) NoSuchKeyException is thrown.
+     * Returns the chain the given key belongs in.
+     * if that chain is NUll (does not exist) NoSuchKeyException is thrown.
      */
-    private void checkForChain(K key) {
-        if (chains[hasher(key, chains.length)] == null) {
+    private IDictionary<K, V> existingChain(K key) {
+        IDictionary<K, V> chain = chainOrNull(key);
+        if (chain == null) {
             throw new NoSuchKeyException("ERROR: The element is not there!");
         }
+        return chain;
     }
 
     /**
-     * Returns the new hash of a given key. Used when resizing.
-     * if the hash is null, it is converted to a positive number by appending length to the hash.
-     *
-     * @return the new hash code(int).
+     * Returns the chain the given key belongs in, creating it if it does not exist yet.
      */
-    private int hasher(K key, int length) {
-        int hashCode;
-        if (key == null) {
-            hashCode = 0;
-        } else {
-            hashCode = key.hashCode() % length;
+    private IDictionary<K, V> chainFor(K key) {
+        int hashCode = hashCodeOf(key);
+        IDictionary<K, V>[] table = chains;
+        if (oldChains != null && hasher(hashCode, oldChains.length) >= migrated) {
+            table = oldChains;
         }
-        if (hashCode < 0) {
-            hashCode += length;
+        int index = hasher(hashCode, table.length);
+        if (table[index] == null) {
+            table[index] = new ArrayDictionary<>();
         }
-        return hashCode;
+        return table[index];
+    }
+
+    /**
+     * Counts the new entry and resizes if the insertion into the given chain added one.
+     */
+    private void afterInsert(IDictionary<K, V> chain, int oldChainSize) {
+        if (chain.size() > oldChainSize) {
+            arraySize++;
+            checkForResize();
+        }
+    }
+
+    /**
+     * Returns the hash code of a given key, treating null as 0.
+     */
+    private int hashCodeOf(K key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    /**
+     * Returns the index a hash code maps to in a table of the given length. Used when resizing.
+     * if the remainder is negative, it is converted to a positive number by adding length to it.
+     *
+     * @return the index(int).
+     */
+    private int hasher(int hashCode, int length) {
+        int index = hashCode % length;
+        if (index < 0) {
+            index += length;
+        }
+        return index;
     }
 
     /**
      * checks if the load factor is exceeded. If it is, the chain is resized.
-     * Otherwise nothing happens.
+     * Otherwise nothing happens. Once the table has reached the largest prime it stays that size.
      */
     private void checkForResize() {
-        if (1.0 * arraySize / chains.length >= loadFactor) {
+        if (1.0 * arraySize / chains.length >= loadFactor && getClosestPrime(chains.length * 2) > chains.length) {
             resize();
         }
     }
 
     /**
-     * If the array needs to be resized, an array of 3/2 the original size is created.
-     * All previous values are re-hashed and copiex to the new array.
+     * If the array needs to be resized, an array of about twice the original size is created.
+     * All previous values are re-hashed and copied to the new array, either right away or, in
+     * incremental mode, a few buckets at a time by the following updates.
      */
     private void resize() {
-        IDictionary<K, V>[] temp = makeArrayOfChains((int) (getClosestPrime(chains.length * 2)));
+        IDictionary<K, V>[] temp = makeArrayOfChains(getClosestPrime(chains.length * 2));
+        if (incrementalResize) {
+            finishMigration();
+            oldChains = chains;
+            migrated = 0;
+            chains = temp;
+            return;
+        }
         for (IDictionary<K, V> chain : chains) {
             if (chain != null) {
-                for (KVPair<K, V> pair : chain) {
-                    int hash = hasher(pair.getKey(), temp.length);
-                    if (temp[hash] == null) {
-                        temp[hash] = new ArrayDictionary<>();
-                    }
-                    temp[hash].put(pair.getKey(), pair.getValue());
-                }
+                moveChain(chain, temp);
             }
         }
         chains = temp;
     }
 
+    /**
+     * Re-hashes every pair in the chain into the given table.
+     */
+    private void moveChain(IDictionary<K, V> chain, IDictionary<K, V>[] table) {
+        for (KVPair<K, V> pair : chain) {
+            int hash = hasher(hashCodeOf(pair.getKey()), table.length);
+            if (table[hash] == null) {
+                table[hash] = new ArrayDictionary<>();
+            }
+            table[hash].put(pair.getKey(), pair.getValue());
+        }
+    }
+
+    /**
+     * Moves the next few buckets of the old table, if an incremental resize is in progress.
+     */
+    private void migrateStep() {
+        if (oldChains != null) {
+            migrateBuckets(Math.min(migrated + BUCKETS_PER_STEP, oldChains.length));
+        }
+    }
+
+    /**
+     * Moves every bucket of the old table that has not been moved yet.
+     */
+    private void finishMigration() {
+        if (oldChains != null) {
+            migrateBuckets(oldChains.length);
+        }
+    }
+
+    /**
+     * Moves the old table's buckets up to (but not including) the given index into the new table,
+     * dropping the old table once it is empty.
+     */
+    private void migrateBuckets(int end) {
+        for (; migrated < end; migrated++) {
+            if (oldChains[migrated] != null) {
+                moveChain(oldChains[migrated], chains);
+                oldChains[migrated] = null;
+            }
+        }
+        if (migrated == oldChains.length) {
+            oldChains = null;
+        }
+    }
+
     private int getClosestPrime(int closestTo) {
         for (int prime : PRIMES) {
             if (prime >= closestTo) {
@@ -237,13 +425,16 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      */
     private static class ChainedIterator<K, V> implements Iterator<KVPair<K, V>> {
         private IDictionary<K, V>[] chains;
+        // The old table of an incremental resize, or null; its moved buckets are null
+        private IDictionary<K, V>[] oldChains;
         private int counter;
         private int index;
         private int size;
         private Iterator<KVPair<K, V>> itr;
 
-        public ChainedIterator(IDictionary<K, V>[] chains) {
+        public ChainedIterator(IDictionary<K, V>[] chains, IDictionary<K, V>[] oldChains) {
             this.chains = chains;
+            this.oldChains = oldChains;
             counter = 0;
             size = calculateSize();
             initializationHelper();
@@ -266,10 +457,11 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
                 throw new NoSuchElementException("Bruh it isn't there.");
             }
             if (!itr.hasNext()) {
-                for (int i = index + 1; i < chains.length; i++) {
-                    if (chains[i] != null && chains[i].size() != 0) {
+                for (int i = index + 1; i < numChains(); i++) {
+                    IDictionary<K, V> chain = chainAt(i);
+                    if (chain != null && chain.size() != 0) {
                         index = i;
-                        itr = chains[i].iterator();
+                        itr = chain.iterator();
                         break;
                     }
                 }
@@ -283,7 +475,8 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
          */
         private int calculateSize() {
             int count = 0;
-            for (IDictionary<K, V> chain : chains) {
+            for (int i = 0; i < numChains(); i++) {
+                IDictionary<K, V> chain = chainAt(i);
                 if (chain != null) {
                     count += chain.size();
                 }
@@ -295,13 +488,30 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
          * Helper method for the chainedIterator constructor.
          */
         private void initializationHelper() {
-            for (int i = 0; i < chains.length; i++) {
-                if (chains[i] != null && chains[i].size() != 0) {
+            for (int i = 0; i < numChains(); i++) {
+                IDictionary<K, V> chain = chainAt(i);
+                if (chain != null && chain.size() != 0) {
                     index = i;
-                    itr = chains[i].iterator();
+                    itr = chain.iterator();
                     return;
                 }
             }
         }
+
+        /**
+         * Returns how many buckets the iterator walks: those of the new table, then those of
+         * the old one.
+         */
+        private int numChains() {
+            return oldChains == null ? chains.length : chains.length + oldChains.length;
+        }
+
+        /**
+         * Returns the bucket with the given number, counting through the new table first and
+         * the old one after it.
+         */
+        private IDictionary<K, V> chainAt(int i) {
+            return i < chains.length ? chains[i] : oldChains[i - chains.length];
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,440 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A hash dictionary that many threads can read and update at once.
+ *
+ * Keys are spread over a fixed number of segments by the high bits of their hash, and each
+ * segment is a small chained hash table guarded by its own lock. Updates only lock the one
+ * segment their key belongs to, so threads working on different segments never wait for each
+ * other, and each segment grows on its own without stopping the rest of the dictionary.
+ *
+ * Lookups never lock. A chain is never changed in place: inserting puts a new node at its head,
+ * and removing or resizing copies the nodes in front of the change, so a reader that is partway
+ * through a chain (or still holds a segment's old table) always sees a consistent list. Only
+ * values are overwritten in place, through a volatile field.
+ *
+ * size and the iterator are weakly consistent: they never throw or block because of concurrent
+ * updates, and they reflect every update that finished before they started, but may or may not
+ * reflect updates made while they run.
+ *
+ * The functions given to computeIfAbsent and merge run while their segment is locked, so they
+ * must be quick and must not use this dictionary.
+ *
+ * See IDictionary for more details on what each method should do
+ */
+public class ConcurrentHashDictionary<K, V> implements IDictionary<K, V> {
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 4;
+    private static final int MAX_SEGMENTS = 1 << 16;
+    // A segment resizes once it holds more than 3/4 as many entries as it has buckets
+    private static final int LOAD_NUMERATOR = 3;
+    private static final int LOAD_DENOMINATOR = 4;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+
+    /**
+     * Constructs an empty dictionary with the default number of segments.
+     */
+    public ConcurrentHashDictionary() {
+        this(DEFAULT_SEGMENTS * MIN_SEGMENT_CAPACITY, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Constructs an empty dictionary that can hold about 'capacity' entries before resizing,
+     * split into at least 'concurrencyLevel' independently locked segments (rounded up to a
+     * power of two). The concurrency level should be about the number of threads that update
+     * the dictionary at the same time.
+     *
+     * @throws IllegalArgumentException if the capacity is negative or concurrencyLevel < 1
+     */
+    @SuppressWarnings("unchecked")
+    public ConcurrentHashDictionary(int capacity, int concurrencyLevel) {
+        if (capacity < 0 || concurrencyLevel < 1) {
+            throw new IllegalArgumentException("ERROR: Capacity and concurrency level are out of range!");
+        }
+        int numSegments = 1;
+        int bits = 0;
+        while (numSegments < Math.min(concurrencyLevel, MAX_SEGMENTS)) {
+            numSegments <<= 1;
+            bits++;
+        }
+        // The top 'bits' bits of a hash pick its segment
+        segmentShift = 32 - bits;
+        int perSegment = MIN_SEGMENT_CAPACITY;
+        while ((long) perSegment * numSegments * LOAD_NUMERATOR < (long) capacity * LOAD_DENOMINATOR) {
+            perSegment <<= 1;
+        }
+        segments = (Segment<K, V>[]) new Segment[numSegments];
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V get(K key) {
+        int hash = hash(key);
+        Node<K, V> node = segmentFor(hash).find(key, hash);
+        if (node == null) {
+            throw new NoSuchKeyException("ERROR: The element is not there!");
+        }
+        return node.value;
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or the default value if the
+     * dictionary does not contain the key.
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int hash = hash(key);
+        Node<K, V> node = segmentFor(hash).find(key, hash);
+        return node == null ? defaultValue : node.value;
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    @Override
+    public boolean containsKey(K key) {
+        int hash = hash(key);
+        return segmentFor(hash).find(key, hash) != null;
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     */
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock();
+        try {
+            Node<K, V> node = segment.find(key, hash);
+            if (node != null) {
+                node.value = value;
+            } else {
+                segment.insert(key, hash, value);
+            }
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Adds the key-value pair only if the key is not already in the dictionary, as one atomic
+     * step. Returns the value already associated with the key, or null if the pair was added.
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock();
+        try {
+            Node<K, V> node = segment.find(key, hash);
+            if (node != null) {
+                return node.value;
+            }
+            segment.insert(key, hash, value);
+            return null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Returns the value associated with the given key, computing and storing it first if the
+     * key is not in the dictionary. The function is called at most once per missing key, even
+     * if several threads ask for the same key at the same time.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        // Skip the lock entirely when the key is already there
+        Node<K, V> node = segment.find(key, hash);
+        if (node != null) {
+            return node.value;
+        }
+        segment.lock();
+        try {
+            node = segment.find(key, hash);
+            if (node != null) {
+                return node.value;
+            }
+            V value = mappingFunction.apply(key);
+            segment.insert(key, hash, value);
+            return value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Stores the given value if the key is not in the dictionary, and otherwise combines the old
+     * value with it, as one atomic step. Returns the value that ends up stored.
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock();
+        try {
+            Node<K, V> node = segment.find(key, hash);
+            if (node == null) {
+                segment.insert(key, hash, value);
+                return value;
+            }
+            V newValue = remappingFunction.apply(node.value, value);
+            node.value = newValue;
+            return newValue;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V remove(K key) {
+        int hash = hash(key);
+        Segment<K, V> segment = segmentFor(hash);
+        segment.lock();
+        try {
+            Node<K, V> node = segment.unlink(key, hash);
+            if (node == null) {
+                throw new NoSuchKeyException("ERROR: The element is not there!");
+            }
+            return node.value;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary. While other threads are
+     * updating the dictionary, this is only an estimate.
+     */
+    @Override
+    public int size() {
+        long total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.count;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over the key-value pairs.
+     */
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new ConcurrentIterator();
+    }
+
+    /**
+     * Returns the mixed hash of the given key. The mixing spreads the hash code into the high
+     * bits (which pick the segment) as well as the low bits (which pick the bucket).
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        // With a single segment the shift is 32, which Java treats as 0, so mask the result
+        return segments[(hash >>> segmentShift) & (segments.length - 1)];
+    }
+
+    /**
+     * An entry in a chain. Everything but the value is final, so a chain never changes under
+     * a reader; the value is volatile so that readers see the latest update to it.
+     */
+    private static final class Node<K, V> {
+        private final int hash;
+        private final K key;
+        private volatile V value;
+        private final Node<K, V> next;
+
+        private Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        private boolean matches(Object otherKey, int otherHash) {
+            return hash == otherHash && (key == null ? otherKey == null : key.equals(otherKey));
+        }
+    }
+
+    /**
+     * One independently locked part of the dictionary. Only the thread holding the lock changes
+     * the table or the count; any thread may read them.
+     */
+    private static final class Segment<K, V> extends ReentrantLock {
+        private volatile AtomicReferenceArray<Node<K, V>> table;
+        private volatile int count;
+
+        private Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+            this.count = 0;
+        }
+
+        /**
+         * Returns the node holding the given key, or null. Safe to call without the lock.
+         */
+        private Node<K, V> find(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            Node<K, V> node = tab.get(hash & (tab.length() - 1));
+            while (node != null && !node.matches(key, hash)) {
+                node = node.next;
+            }
+            return node;
+        }
+
+        /**
+         * Adds a node for a key known not to be in the segment. Must hold the lock.
+         */
+        private void insert(K key, int hash, V value) {
+            if ((long) (count + 1) * LOAD_DENOMINATOR > (long) table.length() * LOAD_NUMERATOR) {
+                resize();
+            }
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = hash & (tab.length() - 1);
+            tab.set(index, new Node<>(hash, key, value, tab.get(index)));
+            count++;
+        }
+
+        /**
+         * Removes the node holding the given key and returns it, or returns null if the key is
+         * not in the segment. The nodes in front of it are copied rather than relinked, so that
+         * readers already walking the chain are not disturbed. Must hold the lock.
+         */
+        private Node<K, V> unlink(Object key, int hash) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            Node<K, V> target = first;
+            while (target != null && !target.matches(key, hash)) {
+                target = target.next;
+            }
+            if (target == null) {
+                return null;
+            }
+            Node<K, V> rest = target.next;
+            for (Node<K, V> node = first; node != target; node = node.next) {
+                rest = new Node<>(node.hash, node.key, node.value, rest);
+            }
+            tab.set(index, rest);
+            count--;
+            return target;
+        }
+
+        /**
+         * Helper method that moves every entry into a table twice the size. The old table is left
+         * untouched for any readers still using it. Must hold the lock.
+         */
+        private void resize() {
+            AtomicReferenceArray<Node<K, V>> oldTable = table;
+            int oldLength = oldTable.length();
+            if (oldLength >= 1 << 30) {
+                return;
+            }
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(oldLength * 2);
+            int mask = oldLength * 2 - 1;
+            for (int i = 0; i < oldLength; i++) {
+                for (Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    newTable.set(index, new Node<>(node.hash, node.key, node.value, newTable.get(index)));
+                }
+            }
+            table = newTable;
+        }
+    }
+
+    /**
+     * Walks the segments in order, and each segment's table as it was when the iterator reached
+     * that segment.
+     */
+    private class ConcurrentIterator implements Iterator<KVPair<K, V>> {
+        private int segmentIndex;
+        private AtomicReferenceArray<Node<K, V>> table;
+        private int bucket;
+        private Node<K, V> next;
+
+        ConcurrentIterator() {
+            segmentIndex = -1;
+            table = null;
+            bucket = 0;
+            next = null;
+            advance();
+        }
+
+        /**
+         * Returns if the iterator has a next token to receive.
+         */
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        /**
+         * advances the iterator one time.
+         */
+        @Override
+        public KVPair<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException("ERROR: There is no such element!");
+            }
+            Node<K, V> node = next;
+            next = node.next;
+            if (next == null) {
+                advance();
+            }
+            return new KVPair<>(node.key, node.value);
+        }
+
+        /**
+         * Helper method that moves 'next' to the first node of the next non-empty bucket
+         */
+        private void advance() {
+            while (true) {
+                while (table != null && bucket < table.length()) {
+                    next = table.get(bucket++);
+                    if (next != null) {
+                        return;
+                    }
+                }
+                segmentIndex++;
+                if (segmentIndex == segments.length) {
+                    table = null;
+                    return;
+                }
+                table = segments[segmentIndex].table;
+                bucket = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package datastructures.concrete.dictionaries;
+
+import java.util.Arrays;
+
+/**
+ * The key side shared by ObjectIntDictionary and ObjectDoubleDictionary.
+ *
+ * Keys are packed into the front of the 'keys' array, and each subclass keeps a primitive array
+ * of values lined up with it, so entry i is keys[i] and values[i]. A separate open-addressing
+ * table, probed linearly, maps each key to its entry number. Each slot in that table stores the
+ * key's hash next to the entry number, so most mismatches are ruled out without calling equals.
+ *
+ * Removing a key moves the last entry into the hole it leaves, which keeps the entries packed.
+ * Entry numbers therefore stay the same until a removal.
+ */
+abstract class DenseHashKeys<K> {
+    private static final int MIN_ENTRIES = 8;
+    // Resize the slot table once more than 3/4 of its slots are full
+    private static final int LOAD_NUMERATOR = 3;
+    private static final int LOAD_DENOMINATOR = 4;
+
+    // slotEntries[i] is one more than the entry number stored in slot i, or 0 if it is empty
+    private int[] slotEntries;
+    private int[] slotHashes;
+    private int mask;
+    private int[] entryHashes;
+    protected K[] keys;
+    protected int size;
+
+    /**
+     * Sets up room for the given number of entries.
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    @SuppressWarnings("unchecked")
+    protected DenseHashKeys(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("ERROR: Capacity cannot be negative!");
+        }
+        int entries = Math.max(capacity, MIN_ENTRIES);
+        keys = (K[]) new Object[entries];
+        entryHashes = new int[entries];
+        allocateSlots(slotsFor(entries));
+        size = 0;
+    }
+
+    /**
+     * Called whenever the entry arrays grow, so the subclass can grow its values to match.
+     */
+    protected abstract void resizeValues(int capacity);
+
+    /**
+     * Called when removing an entry, to move the value of entry 'from' into entry 'to'.
+     */
+    protected abstract void moveValue(int from, int to);
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns 'true' if this dictionary is empty and 'false' otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    public boolean containsKey(K key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Returns the key of the entry with the given number. Entries are numbered 0 through
+     * size() - 1, so this (together with the matching valueAt) walks every entry without
+     * allocating anything.
+     *
+     * @throws IndexOutOfBoundsException if the index is not between 0 and size() - 1
+     */
+    public K keyAt(int index) {
+        checkIndex(index);
+        return keys[index];
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("ERROR: Index " + index + " is out of bounds!");
+        }
+    }
+
+    /**
+     * Returns the entry number of the given key, or -1 if it is not in the dictionary.
+     */
+    protected int indexOf(K key) {
+        return slotEntries[findSlot(key, hash(key))] - 1;
+    }
+
+    /**
+     * Returns the entry number of the given key. If the key is not in the dictionary, it is
+     * added as the last entry and this returns -(its entry number) - 1 instead, so that the
+     * caller knows to fill in its value.
+     */
+    protected int indexForInsert(K key) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slotEntries[slot] != 0) {
+            return slotEntries[slot] - 1;
+        }
+        if (size == keys.length) {
+            growEntries();
+        }
+        if ((long) (size + 1) * LOAD_DENOMINATOR > (long) slotEntries.length * LOAD_NUMERATOR) {
+            rehash(slotEntries.length * 2);
+            slot = findSlot(key, hash);
+        }
+        int index = size++;
+        keys[index] = key;
+        entryHashes[index] = hash;
+        slotEntries[slot] = index + 1;
+        slotHashes[slot] = hash;
+        return -index - 1;
+    }
+
+    /**
+     * Removes the given key from the slot table and returns its entry number, or -1 if it is
+     * not in the dictionary. The entry itself stays in place until fillHole is called, so the
+     * caller can still read its value.
+     */
+    protected int unlinkKey(K key) {
+        int slot = findSlot(key, hash(key));
+        int index = slotEntries[slot] - 1;
+        if (index != -1) {
+            clearSlot(slot);
+        }
+        return index;
+    }
+
+    /**
+     * Moves the last entry into the given entry's place, finishing a removal started by unlinkKey.
+     */
+    protected void fillHole(int index) {
+        int last = --size;
+        if (index != last) {
+            // The last entry's slot is found by its hash alone, without calling equals
+            int slot = entryHashes[last] & mask;
+            while (slotEntries[slot] != last + 1) {
+                slot = (slot + 1) & mask;
+            }
+            slotEntries[slot] = index + 1;
+            keys[index] = keys[last];
+            entryHashes[index] = entryHashes[last];
+            moveValue(last, index);
+        }
+        keys[last] = null;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            keys[i] = null;
+        }
+        Arrays.fill(slotEntries, 0);
+        size = 0;
+    }
+
+    /**
+     * Returns the mixed hash of the given key, so that keys whose hash codes differ only in
+     * their high bits still land in different slots.
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h *= 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the slot holding the given key, or the empty slot where it would be inserted.
+     */
+    private int findSlot(K key, int hash) {
+        int slot = hash & mask;
+        while (slotEntries[slot] != 0) {
+            if (slotHashes[slot] == hash) {
+                K other = keys[slotEntries[slot] - 1];
+                if (key == null ? other == null : key.equals(other)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Helper method that empties a slot and shifts back every following entry that can move
+     * closer to its home slot, so that no lookup ever stops early at the new gap.
+     */
+    private void clearSlot(int hole) {
+        int slot = (hole + 1) & mask;
+        while (slotEntries[slot] != 0) {
+            int home = slotHashes[slot] & mask;
+            // The entry can fill the hole unless its home lies after the hole (cyclically)
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                slotEntries[hole] = slotEntries[slot];
+                slotHashes[hole] = slotHashes[slot];
+                hole = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slotEntries[hole] = 0;
+    }
+
+    private void growEntries() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        entryHashes = Arrays.copyOf(entryHashes, capacity);
+        resizeValues(capacity);
+    }
+
+    private static int slotsFor(int entries) {
+        int slots = 16;
+        while ((long) slots * LOAD_NUMERATOR < (long) entries * LOAD_DENOMINATOR) {
+            slots *= 2;
+        }
+        return slots;
+    }
+
+    private void allocateSlots(int slots) {
+        slotEntries = new int[slots];
+        slotHashes = new int[slots];
+        mask = slots - 1;
+    }
+
+    /**
+     * Helper method that rebuilds the slot table with the given number of slots. The entries
+     * themselves do not move, and their cached hashes mean no key is hashed again.
+     */
+    private void rehash(int slots) {
+        allocateSlots(slots);
+        for (int i = 0; i < size; i++) {
+            int slot = entryHashes[i] & mask;
+            while (slotEntries[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slotEntries[slot] = i + 1;
+            slotHashes[slot] = entryHashes[i];
+        }
+    }
+}
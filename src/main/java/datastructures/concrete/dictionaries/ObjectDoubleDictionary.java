@@ -0,0 +1,130 @@
+package datastructures.concrete.dictionaries;
+
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Arrays;
+
+/**
+ * A hash dictionary from objects to double values that stores the values in a plain double
+ * array, so no operation ever boxes a value into a Double.
+ *
+ * Lookups on hot paths should use getOrDefault with a value that can never be stored (such as
+ * infinity for distances), which hashes the key once and never throws. Entries can be walked
+ * without an iterator using keyAt and valueAt; see DenseHashKeys for how entries are numbered.
+ */
+public class ObjectDoubleDictionary<K> extends DenseHashKeys<K> {
+    private double[] values;
+
+    /**
+     * Constructs an empty dictionary.
+     */
+    public ObjectDoubleDictionary() {
+        this(0);
+    }
+
+    /**
+     * Constructs an empty dictionary that can hold the given number of entries before it has
+     * to resize.
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ObjectDoubleDictionary(int capacity) {
+        super(capacity);
+        values = new double[keys.length];
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public double get(K key) {
+        int index = indexOf(key);
+        if (index == -1) {
+            throw new NoSuchKeyException("ERROR: The element is not there!");
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or the default value if the
+     * dictionary does not contain the key.
+     */
+    public double getOrDefault(K key, double defaultValue) {
+        int index = indexOf(key);
+        return index == -1 ? defaultValue : values[index];
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     */
+    public void put(K key, double value) {
+        int index = indexForInsert(key);
+        values[index < 0 ? -index - 1 : index] = value;
+    }
+
+    /**
+     * Adds the key-value pair only if the key is not already in the dictionary.
+     *
+     * Returns 'true' if the pair was added and 'false' if the key was already there (in which
+     * case its value is left alone).
+     */
+    public boolean putIfAbsent(K key, double value) {
+        int index = indexForInsert(key);
+        if (index < 0) {
+            values[-index - 1] = value;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the given amount to the value of the given key, treating a missing key as 0, and
+     * returns the new value.
+     */
+    public double addTo(K key, double amount) {
+        int index = indexForInsert(key);
+        if (index < 0) {
+            values[-index - 1] = amount;
+            return amount;
+        }
+        values[index] += amount;
+        return values[index];
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public double remove(K key) {
+        int index = unlinkKey(key);
+        if (index == -1) {
+            throw new NoSuchKeyException("ERROR: The element is not there!");
+        }
+        double value = values[index];
+        fillHole(index);
+        return value;
+    }
+
+    /**
+     * Returns the value of the entry with the given number; see keyAt.
+     *
+     * @throws IndexOutOfBoundsException if the index is not between 0 and size() - 1
+     */
+    public double valueAt(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    @Override
+    protected void resizeValues(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+}
@@ -0,0 +1,328 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A hash dictionary that stores its entries directly in flat arrays, using open addressing
+ * with Robin Hood linear probing.
+ *
+ * Keys, values, and the hash code of each key live in three parallel arrays. A lookup scans
+ * consecutive slots starting from the key's home slot, comparing cached hashes first and only
+ * calling equals when they match, so the common case touches one or two cache lines and never
+ * follows a pointer to a chain. When inserting, an entry that has probed further from its home
+ * than the entry in its way takes that slot (and the displaced entry keeps looking), which keeps
+ * probe lengths short and even. Removing shifts the following entries back by one instead of
+ * leaving tombstones behind.
+ *
+ * See the spec and IDictionary for more details on what each method should do
+ */
+public class RobinHoodHashDictionary<K, V> implements IDictionary<K, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    // Resize once more than 3/4 of the slots are full
+    private static final int LOAD_NUMERATOR = 3;
+    private static final int LOAD_DENOMINATOR = 4;
+
+    // hashes[i] is 0 if slot i is empty; stored hashes are never 0
+    private int[] hashes;
+    private K[] keys;
+    private V[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs an empty dictionary.
+     */
+    public RobinHoodHashDictionary() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty dictionary that can hold the given number of entries before it has
+     * to resize.
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public RobinHoodHashDictionary(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("ERROR: Capacity cannot be negative!");
+        }
+        int slots = DEFAULT_CAPACITY;
+        while ((long) slots * LOAD_NUMERATOR < (long) capacity * LOAD_DENOMINATOR) {
+            slots *= 2;
+        }
+        allocate(slots);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int slots) {
+        hashes = new int[slots];
+        keys = (K[]) new Object[slots];
+        values = (V[]) new Object[slots];
+        mask = slots - 1;
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V get(K key) {
+        int slot = findSlot(key, hash(key));
+        if (slot == -1) {
+            throw new NoSuchKeyException("ERROR: The element is not there!");
+        }
+        return values[slot];
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or the default value if the
+     * dictionary does not contain the key.
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int slot = findSlot(key, hash(key));
+        return slot == -1 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     */
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot != -1) {
+            values[slot] = value;
+            return;
+        }
+        addNew(hash, key, value);
+    }
+
+    /**
+     * Adds the key-value pair only if the key is not already in the dictionary. Returns the
+     * value already associated with the key, or null if the pair was added.
+     */
+    @Override
+    public V putIfAbsent(K key, V value) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot != -1) {
+            return values[slot];
+        }
+        addNew(hash, key, value);
+        return null;
+    }
+
+    /**
+     * Returns the value associated with the given key, computing and storing it first if the
+     * key is not in the dictionary.
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot != -1) {
+            return values[slot];
+        }
+        V value = mappingFunction.apply(key);
+        addNew(hash, key, value);
+        return value;
+    }
+
+    /**
+     * Stores the given value if the key is not in the dictionary, and otherwise combines the old
+     * value with it. Returns the value that ends up stored.
+     */
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        int hash = hash(key);
+        int slot = findSlot(key, hash);
+        if (slot == -1) {
+            addNew(hash, key, value);
+            return value;
+        }
+        V newValue = remappingFunction.apply(values[slot], value);
+        values[slot] = newValue;
+        return newValue;
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    public V remove(K key) {
+        int slot = findSlot(key, hash(key));
+        if (slot == -1) {
+            throw new NoSuchKeyException("ERROR: The element is not there!");
+        }
+        V value = values[slot];
+        // Shift every following entry that is not in its home slot back by one
+        int next = (slot + 1) & mask;
+        while (hashes[next] != 0 && distanceFromHome(hashes[next], next) > 0) {
+            hashes[slot] = hashes[next];
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        hashes[slot] = 0;
+        keys[slot] = null;
+        values[slot] = null;
+        size--;
+        return value;
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     */
+    @Override
+    public boolean containsKey(K key) {
+        return findSlot(key, hash(key)) != -1;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new RobinHoodIterator();
+    }
+
+    /**
+     * Returns the hash stored for the given key. The key's hash code is mixed so that keys
+     * whose hash codes differ only in their high bits still land in different slots, and
+     * 0 is reserved to mark empty slots.
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h *= 0x9e3779b9;
+        h ^= h >>> 16;
+        return h == 0 ? 1 : h;
+    }
+
+    /**
+     * Returns how many slots past its home slot an entry with the given hash is stored.
+     */
+    private int distanceFromHome(int hash, int slot) {
+        return (slot - hash) & mask;
+    }
+
+    /**
+     * Returns the slot holding the given key, or -1 if it is not in the dictionary.
+     */
+    private int findSlot(K key, int hash) {
+        int slot = hash & mask;
+        for (int distance = 0; ; distance++) {
+            int slotHash = hashes[slot];
+            // Every entry past this point would have taken this slot from its occupant
+            if (slotHash == 0 || distanceFromHome(slotHash, slot) < distance) {
+                return -1;
+            }
+            if (slotHash == hash && (key == null ? keys[slot] == null : key.equals(keys[slot]))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Helper method that counts a new entry, growing the table first if it would get too full
+     */
+    private void addNew(int hash, K key, V value) {
+        if ((long) (size + 1) * LOAD_DENOMINATOR > (long) hashes.length * LOAD_NUMERATOR) {
+            resize(hashes.length * 2);
+        }
+        insertNew(hash, key, value);
+        size++;
+    }
+
+    /**
+     * Helper method that stores an entry whose key is known not to be in the dictionary,
+     * displacing entries that are closer to their home slots than the one being placed.
+     */
+    private void insertNew(int hash, K key, V value) {
+        int slot = hash & mask;
+        int distance = 0;
+        while (hashes[slot] != 0) {
+            int slotDistance = distanceFromHome(hashes[slot], slot);
+            if (slotDistance < distance) {
+                int tempHash = hashes[slot];
+                K tempKey = keys[slot];
+                V tempValue = values[slot];
+                hashes[slot] = hash;
+                keys[slot] = key;
+                values[slot] = value;
+                hash = tempHash;
+                key = tempKey;
+                value = tempValue;
+                distance = slotDistance;
+            }
+            slot = (slot + 1) & mask;
+            distance++;
+        }
+        hashes[slot] = hash;
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    /**
+     * Helper method that moves every entry into new arrays with the given number of slots
+     */
+    private void resize(int slots) {
+        int[] oldHashes = hashes;
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(slots);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != 0) {
+                insertNew(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private class RobinHoodIterator implements Iterator<KVPair<K, V>> {
+        // The next slot to check
+        private int slot = 0;
+
+        /**
+         * Returns if the iterator has a next token to receive.
+         */
+        @Override
+        public boolean hasNext() {
+            while (slot < hashes.length && hashes[slot] == 0) {
+                slot++;
+            }
+            return slot < hashes.length;
+        }
+
+        /**
+         * advances the iterator one time.
+         */
+        @Override
+        public KVPair<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("ERROR: There is no such element!");
+            }
+            KVPair<K, V> pair = new KVPair<>(keys[slot], values[slot]);
+            slot++;
+            return pair;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import datastructures.concrete.KVPair;
 import misc.exceptions.NoSuchKeyException;
 
 import java.util.Iterator;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Represents a data structure that contains a bunch of key-value mappings. Each key must be unique.
@@ -39,6 +41,53 @@ public interface IDictionary<K, V> extends Iterable<KVPair<K, V>> {
      */
     public void put(K key, V value);
 
+    /**
+     * Adds the key-value pair to the dictionary only if the key is not already in it.
+     *
+     * Returns the value already associated with the key, or null if the key was absent and
+     * the given value was stored. (If null values are stored, the two cases look the same.)
+     *
+     * Note: The interface provides a default implementation that looks the key up twice;
+     *       hash-based dictionaries override it to hash and probe once.
+     */
+    public default V putIfAbsent(K key, V value) {
+        if (this.containsKey(key)) {
+            return this.get(key);
+        }
+        this.put(key, value);
+        return null;
+    }
+
+    /**
+     * Returns the value associated with the given key. If the key is not in the dictionary,
+     * first computes a value for it with the given function and stores it.
+     *
+     * If the function throws, the dictionary is left unchanged. The function must not modify
+     * this dictionary.
+     */
+    public default V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (this.containsKey(key)) {
+            return this.get(key);
+        }
+        V value = mappingFunction.apply(key);
+        this.put(key, value);
+        return value;
+    }
+
+    /**
+     * If the key is not in the dictionary, stores the given value for it. Otherwise replaces
+     * its value with the result of calling the function on the old value and the given one.
+     * Returns the value that ends up stored.
+     *
+     * If the function throws, the dictionary is left unchanged. The function must not modify
+     * this dictionary.
+     */
+    public default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        V newValue = this.containsKey(key) ? remappingFunction.apply(this.get(key), value) : value;
+        this.put(key, newValue);
+        return newValue;
+    }
+
     /**
      * Remove the key-value pair corresponding to the given key from the dictionary.
      *
@@ -46,6 +95,21 @@ public interface IDictionary<K, V> extends Iterable<KVPair<K, V>> {
      */
     public V remove(K key);
 
+    /**
+     * Removes the key-value pair for the given key if the dictionary contains it. Returns 'true'
+     * if a pair was removed and 'false' if the key was not there, rather than throwing.
+     *
+     * Note: The interface provides a default implementation that looks the key up twice;
+     *       implementations may override it to find the key only once.
+     */
+    public default boolean removeIfPresent(K key) {
+        if (!this.containsKey(key)) {
+            return false;
+        }
+        this.remove(key);
+        return true;
+    }
+
     /**
      * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
      */
@@ -14,6 +14,19 @@ public interface ISet<T> extends Iterable<T> {
      */
     public void add(T item);
 
+    /**
+     * Adds the given item to the set if it is not already there.
+     *
+     * Returns 'true' if the item was added and 'false' if the set already contained it.
+     */
+    public default boolean addIfAbsent(T item) {
+        if (this.contains(item)) {
+            return false;
+        }
+        this.add(item);
+        return true;
+    }
+
     /**
      * Removes the given item from the set.
      *
@@ -1,6 +1,5 @@
 package mazes.gui;
 
-import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
 import mazes.entities.Maze;
 import mazes.entities.Wall;
@@ -152,9 +151,16 @@ public class ImageDrawer implements ImageObserver {
     }
 
     public void drawPath(Wall wall) {
-        IList<Wall> walls = new DoubleLinkedList<>();
-        walls.add(wall);
-        this.drawPath(walls);
+        Color originalColor = this.graphics.getColor();
+        Stroke originalStroke = this.graphics.getStroke();
+
+        this.graphics.setColor(Color.RED);
+        this.graphics.setStroke(new BasicStroke(2));
+
+        this.drawPathSegment(wall);
+
+        this.graphics.setColor(originalColor);
+        this.graphics.setStroke(originalStroke);
     }
 
     public void drawPath(IList<Wall> wallsBypassed) {
@@ -165,25 +171,29 @@ public class ImageDrawer implements ImageObserver {
         this.graphics.setStroke(new BasicStroke(2));
 
         for (Wall wall : wallsBypassed) {
-            LineSegment segment = wall.getDividingLine();
-
-            Point center1 = wall.getRoom1().getCenter();
-            Point center2 = wall.getRoom2().getCenter();
-            Point midpoint = segment.midpoint();
-
-            this.drawPoint(center1);
-            this.drawPoint(center2);
-
-            Path2D.Double path = new Path2D.Double();
-            path.moveTo(center1.x, center1.y);
-            path.curveTo(midpoint.x, midpoint.y, midpoint.x, midpoint.y, center2.x, center2.y);
-            this.graphics.draw(path);
+            this.drawPathSegment(wall);
         }
 
         this.graphics.setColor(originalColor);
         this.graphics.setStroke(originalStroke);
     }
 
+    private void drawPathSegment(Wall wall) {
+        LineSegment segment = wall.getDividingLine();
+
+        Point center1 = wall.getRoom1().getCenter();
+        Point center2 = wall.getRoom2().getCenter();
+        Point midpoint = segment.midpoint();
+
+        this.drawPoint(center1);
+        this.drawPoint(center2);
+
+        Path2D.Double path = new Path2D.Double();
+        path.moveTo(center1.x, center1.y);
+        path.curveTo(midpoint.x, midpoint.y, midpoint.x, midpoint.y, center2.x, center2.y);
+        this.graphics.draw(path);
+    }
+
     public void drawPoint(Point point) {
         Color originalColor = this.graphics.getColor();
         this.graphics.setColor(Color.RED);
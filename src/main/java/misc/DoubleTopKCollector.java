@@ -0,0 +1,156 @@
+package misc;
+
+import misc.exceptions.EmptyContainerException;
+
+/**
+ * A TopKCollector for things identified by an int and ranked by a double score, such as walls
+ * scored by weight.
+ *
+ * Ids and scores are kept in two primitive arrays of exactly 'k' slots, allocated once when
+ * the collector is created. Accepting, draining, and resetting never allocate, so the same
+ * collector can be run over batch after batch without creating any garbage.
+ */
+public class DoubleTopKCollector {
+    private static final int NUM_CHILDREN = 4;
+    private final int[] ids;
+    private final double[] scores;
+    private int size;
+
+    /**
+     * Creates a collector that keeps the 'k' ids with the largest scores.
+     *
+     * @throws IllegalArgumentException if k < 0
+     */
+    public DoubleTopKCollector(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be less than 0");
+        }
+        ids = new int[k];
+        scores = new double[k];
+        size = 0;
+    }
+
+    /**
+     * Offers the given id and score to the collector, which keeps them if the score is among
+     * the 'k' largest so far.
+     *
+     * @throws IllegalArgumentException if the score is NaN
+     */
+    public void accept(int id, double score) {
+        if (Double.isNaN(score)) {
+            throw new IllegalArgumentException("Score cannot be NaN!");
+        }
+        if (size < ids.length) {
+            percolateUp(size++, id, score);
+        } else if (size > 0 && scores[0] < score) {
+            percolateDown(0, id, score, size);
+        }
+    }
+
+    /**
+     * Returns the smallest score still kept, which is the score a new entry has to beat once
+     * the collector is full.
+     *
+     * @throws EmptyContainerException if nothing is kept
+     */
+    public double peekMinScore() {
+        if (size == 0) {
+            throw new EmptyContainerException("Collector is empty");
+        }
+        return scores[0];
+    }
+
+    /**
+     * Removes the kept entries and stores them in the given arrays, smallest score first.
+     * Returns how many entries were stored.
+     *
+     * @throws IllegalArgumentException if either array is shorter than size()
+     */
+    public int drainSorted(int[] idsOut, double[] scoresOut) {
+        int count = size;
+        if (idsOut.length < count || scoresOut.length < count) {
+            throw new IllegalArgumentException("Output arrays are too small!");
+        }
+        // Heapsort in place: each minimum moves into the slot freed at the end, leaving the
+        // arrays in descending order
+        while (size > 0) {
+            int minId = ids[0];
+            double minScore = scores[0];
+            size--;
+            if (size > 0) {
+                percolateDown(0, ids[size], scores[size], size);
+            }
+            ids[size] = minId;
+            scores[size] = minScore;
+        }
+        for (int i = 0; i < count; i++) {
+            idsOut[i] = ids[count - 1 - i];
+            scoresOut[i] = scores[count - 1 - i];
+        }
+        return count;
+    }
+
+    /**
+     * Throws away the kept entries so that the collector can start over.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Returns the number of entries currently kept, which is at most 'k'.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns how many entries this collector keeps.
+     */
+    public int getK() {
+        return ids.length;
+    }
+
+    /**
+     * Helper method that moves parents down until the given entry can be stored in the hole
+     */
+    private void percolateUp(int hole, int id, double score) {
+        while (hole > 0) {
+            int parentIndex = (hole - 1) / NUM_CHILDREN;
+            if (score >= scores[parentIndex]) {
+                break;
+            }
+            ids[hole] = ids[parentIndex];
+            scores[hole] = scores[parentIndex];
+            hole = parentIndex;
+        }
+        ids[hole] = id;
+        scores[hole] = score;
+    }
+
+    /**
+     * Helper method that moves smaller children up until the given entry can be stored in the
+     * hole, looking only at the first 'end' slots
+     */
+    private void percolateDown(int hole, int id, double score, int end) {
+        int firstChild = hole * NUM_CHILDREN + 1;
+        while (firstChild < end) {
+            int smallerIndex = firstChild;
+            int lastChild = Math.min(firstChild + NUM_CHILDREN, end);
+            for (int i = firstChild + 1; i < lastChild; i++) {
+                if (scores[i] < scores[smallerIndex]) {
+                    smallerIndex = i;
+                }
+            }
+            if (scores[smallerIndex] >= score) {
+                break;
+            }
+            ids[hole] = ids[smallerIndex];
+            scores[hole] = scores[smallerIndex];
+            hole = smallerIndex;
+            firstChild = hole * NUM_CHILDREN + 1;
+        }
+        ids[hole] = id;
+        scores[hole] = score;
+    }
+}
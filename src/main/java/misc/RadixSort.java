@@ -0,0 +1,144 @@
+package misc;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Stable least-significant-digit radix sorts on double keys.
+ *
+ * Each key is turned into a long whose unsigned order matches the key's numeric order, and
+ * the longs are then bucketed 11 bits at a time. This takes linear time, and each pass is a
+ * sequential read and a scatter into 2048 buckets, so it beats comparison sorts once there
+ * are more than a few dozen keys. Passes over digits that every key shares (for example,
+ * the sign and exponent bits of weights that are all in a narrow range) are skipped.
+ *
+ * Keys are ordered like Double.compare, except that -0.0 and 0.0 are treated as equal.
+ * NaN keys sort after everything else.
+ */
+public final class RadixSort {
+    private static final int DIGIT_BITS = 11;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    // Below this many keys, an insertion sort is faster than setting up the buckets
+    private static final int INSERTION_SORT_THRESHOLD = 48;
+
+    private RadixSort() {
+    }
+
+    /**
+     * Returns the indices 0 .. count - 1 ordered by ascending key. Indices with equal keys
+     * keep their original order.
+     *
+     * @throws IllegalArgumentException if count < 0 or count > keys.length
+     */
+    public static int[] sortedOrder(double[] keys, int count) {
+        if (count < 0 || count > keys.length) {
+            throw new IllegalArgumentException("ERROR: Invalid count!");
+        }
+        long[] sortKeys = new long[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            sortKeys[i] = toSortableBits(keys[i]);
+            order[i] = i;
+        }
+        sort(sortKeys, order);
+        return order;
+    }
+
+    /**
+     * Sorts the first 'count' items of the given array by ascending key, where the key of each
+     * item is computed exactly once. Items with equal keys keep their original order.
+     *
+     * @throws IllegalArgumentException if count < 0 or count > items.length
+     */
+    public static <T> void sort(T[] items, int count, ToDoubleFunction<? super T> key) {
+        if (count < 0 || count > items.length) {
+            throw new IllegalArgumentException("ERROR: Invalid count!");
+        }
+        long[] sortKeys = new long[count];
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            sortKeys[i] = toSortableBits(key.applyAsDouble(items[i]));
+            order[i] = i;
+        }
+        sort(sortKeys, order);
+        Object[] sorted = new Object[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = items[order[i]];
+        }
+        System.arraycopy(sorted, 0, items, 0, count);
+    }
+
+    /**
+     * Helper method that maps a double to a long whose unsigned order is the double's order:
+     * negative numbers have every bit flipped, and non-negative numbers have the sign bit set.
+     */
+    private static long toSortableBits(double key) {
+        // Adding 0.0 turns -0.0 into 0.0
+        long bits = Double.doubleToLongBits(key + 0.0);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * Helper method that sorts the keys as unsigned longs, applying the same moves to the order
+     */
+    private static void sort(long[] keys, int[] order) {
+        int count = keys.length;
+        if (count < INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, order);
+            return;
+        }
+        long[] keyBuffer = new long[count];
+        int[] orderBuffer = new int[count];
+        long[] fromKeys = keys;
+        int[] fromOrder = order;
+        int[] offsets = new int[RADIX];
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            for (int d = 0; d < RADIX; d++) {
+                offsets[d] = 0;
+            }
+            for (int i = 0; i < count; i++) {
+                offsets[(int) (fromKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            // Every key has the same digit here, so this pass would not move anything
+            if (offsets[(int) (fromKeys[0] >>> shift) & (RADIX - 1)] == count) {
+                continue;
+            }
+            int total = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int bucketSize = offsets[d];
+                offsets[d] = total;
+                total += bucketSize;
+            }
+            for (int i = 0; i < count; i++) {
+                int slot = offsets[(int) (fromKeys[i] >>> shift) & (RADIX - 1)]++;
+                keyBuffer[slot] = fromKeys[i];
+                orderBuffer[slot] = fromOrder[i];
+            }
+            // The arrays just written become the input of the next pass
+            long[] tempKeys = fromKeys;
+            fromKeys = keyBuffer;
+            keyBuffer = tempKeys;
+            int[] tempOrder = fromOrder;
+            fromOrder = orderBuffer;
+            orderBuffer = tempOrder;
+        }
+        if (fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, 0, count);
+            System.arraycopy(fromOrder, 0, order, 0, count);
+        }
+    }
+
+    private static void insertionSort(long[] keys, int[] order) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int index = order[i];
+            int j = i - 1;
+            while (j >= 0 && Long.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            order[j + 1] = index;
+        }
+    }
+}
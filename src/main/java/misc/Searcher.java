@@ -1,11 +1,19 @@
 package misc;
 
-import datastructures.concrete.ArrayHeap;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.ArrayList;
 import datastructures.interfaces.IList;
-import datastructures.interfaces.IPriorityQueue;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.ToDoubleFunction;
 
 public class Searcher {
+    // The streaming heap is used when k is less than 1/SELECTION_MIN_FRACTION of the input
+    private static final int SELECTION_MIN_FRACTION = 16;
+    // parallelTopKSort never splits the input into chunks smaller than this
+    private static final int MIN_PARALLEL_CHUNK = 1 << 13;
+
     /**
      * This method takes the input list and returns the top k elements
      * in sorted order.
@@ -20,6 +28,7 @@ public class Searcher {
      *
      * @throws IllegalArgumentException  if k < 0
      */
+    @SuppressWarnings("unchecked")
     public static <T extends Comparable<T>> IList<T> topKSort(int k, IList<T> input) {
         // Implementation notes:
         //
@@ -44,25 +53,321 @@ public class Searcher {
             k = input.size();
         }
         if (k == 0) {
-            return new DoubleLinkedList<>();
-        }
-        IPriorityQueue<T> heap = new ArrayHeap<>();
-        int counter = 0;
-        for (T cur : input) {
-            if (counter < k) {
-                heap.insert(cur);
-                counter++;
+            return new ArrayList<>();
+        }
+        if (k == input.size()) {
+            // Keeping everything is just a sort, which the library's merge sort does in a few
+            // sequential passes over one array
+            T[] items = toArray(input, (T[]) new Comparable[input.size()]);
+            Arrays.sort(items);
+            return new ArrayList<>(items, items.length);
+        }
+        T[] top = selectTopK(k, input);
+        return new ArrayList<>(top, k);
+    }
+
+    /**
+     * Does the same job as topKSort, but spreads the work over the common ForkJoinPool.
+     *
+     * The input is copied into an array and split into chunks. Each chunk keeps its own 'k'
+     * best elements in a small heap, and neighbouring chunks' results are merged pairwise on
+     * the way back up. When 'k' is too large for that to save anything, the copy is sorted with
+     * Arrays.parallelSort instead.
+     *
+     * Ties are broken by position: the result is always exactly the last 'k' elements of a
+     * stable sort of the input, so elements that compare equal keep their input order and the
+     * output does not depend on how the work was split.
+     *
+     * This method must not modify the input list.
+     *
+     * @throws IllegalArgumentException  if k < 0 or the input contains null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<T>> IList<T> parallelTopKSort(int k, IList<T> input) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be less than 0");
+        }
+        if (input == null) {
+            return null;
+        }
+        int n = input.size();
+        k = Math.min(k, n);
+        if (k == 0) {
+            return new ArrayList<>();
+        }
+        T[] items = toArray(input, (T[]) new Comparable[n]);
+        int chunkSize = Math.max(n / (ForkJoinPool.getCommonPoolParallelism() * 4), MIN_PARALLEL_CHUNK);
+        if (k * 4 >= chunkSize) {
+            // Each chunk would keep most of its elements anyway, so sort everything; the library's
+            // parallel merge sort is stable, which gives the same tie order
+            Arrays.parallelSort(items);
+            T[] output = (T[]) new Comparable[k];
+            System.arraycopy(items, n - k, output, 0, k);
+            return new ArrayList<>(output, k);
+        }
+        int[] top = ForkJoinPool.commonPool().invoke(new TopKTask<>(items, 0, n, k, chunkSize));
+        T[] output = (T[]) new Comparable[top.length];
+        for (int i = 0; i < top.length; i++) {
+            output[i] = items[top[i]];
+        }
+        return new ArrayList<>(output, output.length);
+    }
+
+    /**
+     * Returns the 'k' elements of the input with the largest keys, ordered by ascending key.
+     * Elements with equal keys keep their order from the input.
+     *
+     * This does the same job as topKSort for elements that can be ranked by a number, such as
+     * edges by their weight. Instead of comparing elements, it radix sorts their keys, which
+     * takes linear time.
+     *
+     * This method must not modify the input list.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> IList<T> topKSort(int k, IList<T> input, ToDoubleFunction<? super T> key) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be less than 0");
+        }
+        if (input == null) {
+            return null;
+        }
+        k = Math.min(k, input.size());
+        T[] items = toArray(input, (T[]) new Object[input.size()]);
+        RadixSort.sort(items, items.length, key);
+        if (k < items.length) {
+            System.arraycopy(items, items.length - k, items, 0, k);
+            for (int i = k; i < items.length; i++) {
+                items[i] = null;
+            }
+        }
+        return new ArrayList<>(items, k);
+    }
+
+    /**
+     * Copies the elements of the input into the given array, which must be exactly big enough.
+     *
+     * @throws IllegalArgumentException if any of the elements is null
+     */
+    private static <T> T[] toArray(IList<T> input, T[] items) {
+        int i = 0;
+        for (T item : input) {
+            if (item == null) {
+                throw new IllegalArgumentException("Item cannot be null!");
+            }
+            items[i++] = item;
+        }
+        return items;
+    }
+
+    /**
+     * Returns the 'k' largest elements of the input, smallest first, where 0 < k < input.size().
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> T[] selectTopK(int k, IList<T> input) {
+        int n = input.size();
+        if ((long) k * SELECTION_MIN_FRACTION < n) {
+            // Keeping only a few: stream the input through a heap holding the best 'k' seen so far.
+            // Most elements are rejected after one comparison with the heap's root
+            TopKCollector<T> collector = new TopKCollector<>(k);
+            collector.acceptAll(input);
+            return collector.drainSorted((T[]) new Comparable[k]);
+        }
+        // Keeping a sizeable share: partition a copy so the largest 'k' end up at the back, then
+        // sort just those. Every pass scans a contiguous range, unlike sifting through a heap
+        T[] items = toArray(input, (T[]) new Comparable[n]);
+        introselect(items, n - k);
+        Arrays.sort(items, n - k, n);
+        T[] output = (T[]) new Comparable[k];
+        System.arraycopy(items, n - k, output, 0, k);
+        return output;
+    }
+
+    /**
+     * Rearranges the array so that the element at the target index is the one that would be
+     * there if the array were sorted, with nothing larger before it and nothing smaller after it.
+     *
+     * This is quickselect with a median-of-three pivot. If the partitions keep coming out
+     * lopsided, it gives up after about 2 log n rounds and sorts what is left, so the worst case
+     * is O(n log n) instead of quadratic.
+     */
+    private static <T extends Comparable<T>> void introselect(T[] items, int target) {
+        int low = 0;
+        int high = items.length - 1;
+        int roundsLeft = 2 * (32 - Integer.numberOfLeadingZeros(items.length));
+        while (high - low > 1) {
+            if (roundsLeft-- == 0) {
+                Arrays.sort(items, low, high + 1);
+                return;
+            }
+            int pivotIndex = partition(items, low, high);
+            if (pivotIndex == target) {
+                return;
+            } else if (pivotIndex < target) {
+                low = pivotIndex + 1;
             } else {
-                if (heap.peekMin().compareTo(cur) < 0) {
-                    heap.removeMin();
-                    heap.insert(cur);
+                high = pivotIndex - 1;
+            }
+        }
+        if (high > low && items[high].compareTo(items[low]) < 0) {
+            swap(items, low, high);
+        }
+    }
+
+    /**
+     * Helper method that partitions items[low..high] (at least three elements) around the median
+     * of its first, middle, and last elements, and returns where the pivot ends up.
+     * Elements equal to the pivot may land on either side, which keeps runs of duplicates balanced.
+     */
+    private static <T extends Comparable<T>> int partition(T[] items, int low, int high) {
+        int mid = (low + high) >>> 1;
+        if (items[mid].compareTo(items[low]) < 0) {
+            swap(items, low, mid);
+        }
+        if (items[high].compareTo(items[low]) < 0) {
+            swap(items, low, high);
+        }
+        if (items[high].compareTo(items[mid]) < 0) {
+            swap(items, mid, high);
+        }
+        // Move the median to the end; items[low] is now no larger than it, which stops the
+        // downward scan without a bounds check
+        swap(items, mid, high);
+        T pivot = items[high];
+        int i = low - 1;
+        int j = high;
+        while (true) {
+            while (items[++i].compareTo(pivot) < 0) {
+                // Skip elements that already belong on the left
+            }
+            while (pivot.compareTo(items[--j]) < 0) {
+                // Skip elements that already belong on the right
+            }
+            if (i >= j) {
+                break;
+            }
+            swap(items, i, j);
+        }
+        swap(items, i, high);
+        return i;
+    }
+
+    private static <T> void swap(T[] items, int i, int j) {
+        T temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
+
+    /**
+     * Finds the positions of the 'k' largest items in items[from..to), ordered smallest first,
+     * where an item is larger than an equal one if it comes later in the array.
+     */
+    private static final class TopKTask<T extends Comparable<T>> extends RecursiveTask<int[]> {
+        private final T[] items;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final int chunkSize;
+
+        private TopKTask(T[] items, int from, int to, int k, int chunkSize) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= chunkSize) {
+                return selectChunk();
+            }
+            int mid = (from + to) >>> 1;
+            TopKTask<T> left = new TopKTask<>(items, from, mid, k, chunkSize);
+            left.fork();
+            int[] right = new TopKTask<>(items, mid, to, k, chunkSize).compute();
+            return merge(left.join(), right);
+        }
+
+        /**
+         * Helper method that returns whether the item at position i ranks below the one at j
+         */
+        private boolean less(int i, int j) {
+            int cmp = items[i].compareTo(items[j]);
+            return cmp < 0 || (cmp == 0 && i < j);
+        }
+
+        /**
+         * Helper method that streams the chunk through a min-heap of at most 'k' positions and
+         * then heapsorts it
+         */
+        private int[] selectChunk() {
+            int[] heap = new int[Math.min(k, to - from)];
+            int size = 0;
+            for (int i = from; i < to; i++) {
+                if (size < heap.length) {
+                    // Sift the new position up
+                    int hole = size++;
+                    while (hole > 0 && less(i, heap[(hole - 1) / 2])) {
+                        heap[hole] = heap[(hole - 1) / 2];
+                        hole = (hole - 1) / 2;
+                    }
+                    heap[hole] = i;
+                } else if (less(heap[0], i)) {
+                    siftDown(heap, i, size);
+                }
+            }
+            // Each minimum moves into the slot freed at the end, leaving the heap descending
+            for (int end = size - 1; end > 0; end--) {
+                int min = heap[0];
+                siftDown(heap, heap[end], end);
+                heap[end] = min;
+            }
+            for (int i = 0, j = size - 1; i < j; i++, j--) {
+                int temp = heap[i];
+                heap[i] = heap[j];
+                heap[j] = temp;
+            }
+            return heap;
+        }
+
+        /**
+         * Helper method that puts the given position at the root of heap[0..size) and sifts it down
+         */
+        private void siftDown(int[] heap, int position, int size) {
+            int hole = 0;
+            int child = 1;
+            while (child < size) {
+                if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!less(heap[child], position)) {
+                    break;
                 }
+                heap[hole] = heap[child];
+                hole = child;
+                child = 2 * hole + 1;
             }
+            heap[hole] = position;
         }
-        IList<T> result = new DoubleLinkedList<>();
-        for (int i = 0; i < k; i++) {
-            result.insert(i, heap.removeMin());
+
+        /**
+         * Helper method that keeps the 'k' largest positions of two ascending results, walking
+         * both from their largest end
+         */
+        private int[] merge(int[] first, int[] second) {
+            int[] result = new int[Math.min(k, first.length + second.length)];
+            int i = first.length - 1;
+            int j = second.length - 1;
+            for (int slot = result.length - 1; slot >= 0; slot--) {
+                if (j < 0 || (i >= 0 && less(second[j], first[i]))) {
+                    result[slot] = first[i--];
+                } else {
+                    result[slot] = second[j--];
+                }
+            }
+            return result;
         }
-        return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,136 @@
+package misc;
+
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
+
+/**
+ * Keeps the 'k' largest elements out of everything it is given, for when the input arrives
+ * a batch at a time instead of as one list.
+ *
+ * The collector holds a min-heap of at most 'k' elements, whose root is the smallest element
+ * still kept. Each new element either is dropped after a single comparison or replaces that
+ * root. For the usual small 'k' (up to 1024) the heap is sized exactly to 'k' up front. A
+ * larger 'k' starts at 1024 slots and doubles only as elements are kept, never past 'k', so
+ * even a huge 'k' costs nothing until that many elements arrive. Either way the heap never
+ * holds more than 'k' slots, and draining the collector empties it but keeps its space, so
+ * one collector can be reused for any number of rounds without allocating a new heap.
+ */
+public class TopKCollector<T extends Comparable<T>> {
+    // Largest 'k' whose heap is allocated in full up front
+    private static final int PRESIZE_LIMIT = 1024;
+    private final int k;
+    private final ArrayHeap<T> heap;
+
+    /**
+     * Creates a collector that keeps the 'k' largest elements.
+     *
+     * @throws IllegalArgumentException if k < 0
+     */
+    public TopKCollector(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be less than 0");
+        }
+        this.k = k;
+        this.heap = new ArrayHeap<>(Math.min(k, PRESIZE_LIMIT));
+        this.heap.setShrinkPolicy(0, 0);
+    }
+
+    /**
+     * Offers the given item to the collector, which keeps it if it is among the 'k' largest so far.
+     *
+     * @throws IllegalArgumentException if the item is null
+     */
+    public void accept(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null!");
+        }
+        if (heap.size() < k) {
+            if (heap.size() == heap.getCapacity()) {
+                heap.reserve((int) Math.min(2L * heap.size(), k));
+            }
+            heap.insert(item);
+        } else if (k > 0 && heap.peekMin().compareTo(item) < 0) {
+            heap.replaceMin(item);
+        }
+    }
+
+    /**
+     * Offers every item of the given list to the collector.
+     *
+     * @throws IllegalArgumentException if any of the items is null
+     */
+    public void acceptAll(IList<T> items) {
+        for (T item : items) {
+            accept(item);
+        }
+    }
+
+    /**
+     * Moves every element kept by the other collector into this one, keeping only the 'k'
+     * largest, and leaves the other collector empty.
+     *
+     * @throws IllegalArgumentException if the other collector is this one
+     */
+    public void merge(TopKCollector<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a collector into itself!");
+        }
+        while (!other.heap.isEmpty()) {
+            accept(other.heap.removeMin());
+        }
+    }
+
+    /**
+     * Removes the kept elements and returns them in a list, smallest first.
+     * <p>
+     * This allocates a new linked list, one node per element, every time it is called. Code
+     * that drains the collector batch after batch should use drainSorted(T[]) with an array
+     * it reuses instead, which allocates nothing once the array is large enough.
+     */
+    public IList<T> drainSorted() {
+        IList<T> result = new DoubleLinkedList<>();
+        while (!heap.isEmpty()) {
+            result.add(heap.removeMin());
+        }
+        return result;
+    }
+
+    /**
+     * Removes the kept elements and stores them in the given array, smallest first. If the
+     * array is too small, a new array of the same runtime type is allocated instead. Use size()
+     * beforehand to find out how many elements will be stored.
+     */
+    public T[] drainSorted(T[] output) {
+        return heap.drainSorted(output);
+    }
+
+    /**
+     * Throws away the kept elements so that the collector can start over.
+     */
+    public void reset() {
+        heap.clear();
+    }
+
+    /**
+     * Returns the number of elements currently kept, which is at most 'k'.
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns how many elements the collector has room for before it has to grow, which is
+     * never more than 'k'.
+     */
+    public int getCapacity() {
+        return heap.getCapacity();
+    }
+
+    /**
+     * Returns how many elements this collector keeps.
+     */
+    public int getK() {
+        return k;
+    }
+}
@@ -0,0 +1,140 @@
+package misc;
+
+import datastructures.concrete.ArrayList;
+import datastructures.concrete.KeyedArrayHeap;
+import datastructures.interfaces.IList;
+
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collector;
+
+/**
+ * Stream collectors that do the same job as Searcher.topKSort: they collect the 'k' largest
+ * elements of a stream into a list, smallest first.
+ *
+ * Each collector accumulates into a TopKCollector, or a KeyedArrayHeap when ranking by a
+ * double key, so memory stays bounded by 'k' no matter how long the stream is. Those heaps
+ * start small and grow only as elements are kept, so a huge 'k' (even Integer.MAX_VALUE) is
+ * fine, and a parallel stream does not reserve 'k' slots for every task it splits into. On a
+ * parallel stream the combiner feeds the smaller of two partial results into the larger one.
+ * Elements that compare equal may come out in any order.
+ */
+public final class TopKCollectors {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private TopKCollectors() {
+    }
+
+    /**
+     * Returns a collector of the 'k' largest elements by their natural order.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public static <T extends Comparable<T>> Collector<T, ?, IList<T>> topK(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be less than 0");
+        }
+        return Collector.of(
+            () -> new TopKCollector<T>(k),
+            TopKCollector::accept,
+            TopKCollectors::combine,
+            TopKCollectors::finish);
+    }
+
+    /**
+     * Returns a collector of the 'k' largest elements according to the given comparator.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public static <T> Collector<T, ?, IList<T>> topK(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be less than 0");
+        }
+        return Collector.of(
+            () -> new TopKCollector<Ranked<T>>(k),
+            (TopKCollector<Ranked<T>> collector, T item) -> {
+                if (item == null) {
+                    throw new IllegalArgumentException("Item cannot be null!");
+                }
+                collector.accept(new Ranked<>(item, comparator));
+            },
+            TopKCollectors::combine,
+            (TopKCollector<Ranked<T>> collector) -> {
+                IList<T> result = new ArrayList<>(collector.size());
+                for (Ranked<T> ranked : finish(collector)) {
+                    result.add(ranked.item);
+                }
+                return result;
+            });
+    }
+
+    /**
+     * Returns a collector of the 'k' elements with the largest keys. Each element's key is
+     * computed when the element is collected, and again only if the element has to be moved
+     * from one partial result to another when a parallel stream combines them.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     */
+    public static <T> Collector<T, ?, IList<T>> topK(int k, ToDoubleFunction<? super T> key) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be less than 0");
+        }
+        return Collector.of(
+            () -> new KeyedArrayHeap<T>(key, Math.min(k, INITIAL_CAPACITY)),
+            (KeyedArrayHeap<T> heap, T item) -> heap.offer(item, k),
+            (KeyedArrayHeap<T> first, KeyedArrayHeap<T> second) -> {
+                KeyedArrayHeap<T> larger = first.size() >= second.size() ? first : second;
+                KeyedArrayHeap<T> smaller = larger == first ? second : first;
+                while (!smaller.isEmpty()) {
+                    larger.offer(smaller.removeMin(), k);
+                }
+                return larger;
+            },
+            (KeyedArrayHeap<T> heap) -> {
+                IList<T> result = new ArrayList<>(heap.size());
+                while (!heap.isEmpty()) {
+                    result.add(heap.removeMin());
+                }
+                return result;
+            });
+    }
+
+    /**
+     * Helper method that merges the smaller of two partial results into the larger one
+     */
+    private static <T extends Comparable<T>> TopKCollector<T> combine(TopKCollector<T> first,
+                                                                      TopKCollector<T> second) {
+        TopKCollector<T> larger = first.size() >= second.size() ? first : second;
+        larger.merge(larger == first ? second : first);
+        return larger;
+    }
+
+    /**
+     * Helper method that drains a collector into an array of exactly its size and wraps that
+     * array in a list without copying it, rather than building a linked list node by node
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> IList<T> finish(TopKCollector<T> collector) {
+        int count = collector.size();
+        return new ArrayList<>(collector.drainSorted((T[]) new Comparable[count]), count);
+    }
+
+    /**
+     * An element paired with the comparator that ranks it, so that a TopKCollector can order
+     * elements that are not Comparable themselves.
+     */
+    private static final class Ranked<T> implements Comparable<Ranked<T>> {
+        private final T item;
+        private final Comparator<? super T> comparator;
+
+        private Ranked(T item, Comparator<? super T> comparator) {
+            this.item = item;
+            this.comparator = comparator;
+        }
+
+        @Override
+        public int compareTo(Ranked<T> other) {
+            return comparator.compare(item, other.item);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package misc.graphs;
+
+/**
+ * An IntGraph whose edges and adjacency lists are stored in flat int and double arrays.
+ */
+final class ArrayIntGraph implements IntGraph {
+    private final int[] edgeVertex1;
+    private final int[] edgeVertex2;
+    private final double[] edgeWeights;
+    private final int[] adjacencyStart;
+    private final int[] adjacentEdges;
+
+    /**
+     * Constructs the graph from the endpoints and weights of each edge, which must already
+     * be sorted by weight. The arrays are used as-is and must not be modified afterwards.
+     */
+    ArrayIntGraph(int numVertices, int[] edgeVertex1, int[] edgeVertex2, double[] edgeWeights) {
+        this.edgeVertex1 = edgeVertex1;
+        this.edgeVertex2 = edgeVertex2;
+        this.edgeWeights = edgeWeights;
+
+        // Count each vertex's degree, then turn the counts into start offsets
+        adjacencyStart = new int[numVertices + 1];
+        for (int e = 0; e < edgeVertex1.length; e++) {
+            adjacencyStart[edgeVertex1[e] + 1]++;
+            if (edgeVertex1[e] != edgeVertex2[e]) {
+                adjacencyStart[edgeVertex2[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < numVertices; v++) {
+            adjacencyStart[v + 1] += adjacencyStart[v];
+        }
+        adjacentEdges = new int[adjacencyStart[numVertices]];
+        int[] next = new int[numVertices];
+        System.arraycopy(adjacencyStart, 0, next, 0, numVertices);
+        for (int e = 0; e < edgeVertex1.length; e++) {
+            adjacentEdges[next[edgeVertex1[e]]++] = e;
+            if (edgeVertex1[e] != edgeVertex2[e]) {
+                adjacentEdges[next[edgeVertex2[e]]++] = e;
+            }
+        }
+    }
+
+    @Override
+    public int numVertices() {
+        return adjacencyStart.length - 1;
+    }
+
+    @Override
+    public int numEdges() {
+        return edgeVertex1.length;
+    }
+
+    @Override
+    public int edgeVertex1(int edge) {
+        return edgeVertex1[edge];
+    }
+
+    @Override
+    public int edgeVertex2(int edge) {
+        return edgeVertex2[edge];
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return edgeWeights[edge];
+    }
+
+    @Override
+    public int adjacencyStart(int vertex) {
+        return adjacencyStart[vertex];
+    }
+
+    @Override
+    public int adjacentEdge(int index) {
+        return adjacentEdges[index];
+    }
+}
@@ -0,0 +1,400 @@
+package misc.graphs;
+
+import datastructures.concrete.ArrayHeap;
+import misc.RadixSort;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Sorts (edge id, weight) records by weight when there are too many to hold in memory at once,
+ * such as the walls of a grid with hundreds of millions of rooms.
+ *
+ * Records are collected into an in-memory run of a fixed size. Whenever the run fills up, it
+ * is radix sorted and written to a temporary file. Calling sort writes out the last run and
+ * returns an iterator that merges all the runs with a small ArrayHeap holding one cursor per
+ * run, reading each file sequentially through its own buffer. If everything fit into a single
+ * run, nothing is written and the iterator reads straight out of memory.
+ *
+ * Records with equal weights come out in the order they were added, so the merged stream is
+ * exactly what a stable sort would produce.
+ *
+ * Closing the sorter (or the iterator) deletes the temporary files.
+ */
+public class ExternalEdgeSorter implements Closeable {
+    private static final int RECORD_SIZE = Integer.BYTES + Double.BYTES;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private final File tempDirectory;
+    private final int[] runIds;
+    private final double[] runWeights;
+    private int runSize;
+    private File[] runFiles;
+    private int numRuns;
+    private long numRecords;
+    private boolean sorted;
+    private SortedEdgeIterator iterator;
+
+    /**
+     * Creates a sorter that keeps up to 'recordsPerRun' records in memory (12 bytes each, and
+     * about three times that while a run is being sorted) and spills runs into the given directory.
+     *
+     * @throws IllegalArgumentException if recordsPerRun < 1 or the directory is not a directory
+     */
+    public ExternalEdgeSorter(File tempDirectory, int recordsPerRun) {
+        if (recordsPerRun < 1) {
+            throw new IllegalArgumentException("ERROR: A run must hold at least one record.");
+        }
+        if (!tempDirectory.isDirectory()) {
+            throw new IllegalArgumentException("ERROR: " + tempDirectory + " is not a directory.");
+        }
+        this.tempDirectory = tempDirectory;
+        this.runIds = new int[recordsPerRun];
+        this.runWeights = new double[recordsPerRun];
+        this.runFiles = new File[4];
+        this.runSize = 0;
+        this.numRuns = 0;
+        this.numRecords = 0;
+        this.sorted = false;
+    }
+
+    /**
+     * Adds the record for one edge.
+     *
+     * @throws IllegalStateException if sort has already been called
+     * @throws IOException if a full run could not be written out
+     */
+    public void add(int edgeId, double weight) throws IOException {
+        if (sorted) {
+            throw new IllegalStateException("ERROR: The records have already been sorted.");
+        }
+        if (runSize == runIds.length) {
+            spillRun();
+        }
+        runIds[runSize] = edgeId;
+        runWeights[runSize] = weight;
+        runSize++;
+        numRecords++;
+    }
+
+    /**
+     * Returns the number of records added so far.
+     */
+    public long size() {
+        return numRecords;
+    }
+
+    /**
+     * Finishes adding records and returns an iterator over the edge ids in ascending weight
+     * order. This may only be called once.
+     *
+     * @throws IllegalStateException if sort has already been called
+     * @throws IOException if a run could not be written or opened
+     */
+    public SortedEdgeIterator sort() throws IOException {
+        if (sorted) {
+            throw new IllegalStateException("ERROR: The records have already been sorted.");
+        }
+        sorted = true;
+        if (numRuns == 0) {
+            sortRun();
+            iterator = new SortedEdgeIterator(new MemoryCursor());
+        } else {
+            if (runSize > 0) {
+                spillRun();
+            }
+            iterator = new SortedEdgeIterator(openRuns());
+        }
+        return iterator;
+    }
+
+    /**
+     * Closes any open run files and deletes them.
+     */
+    @Override
+    public void close() throws IOException {
+        if (iterator != null) {
+            iterator.close();
+        }
+        deleteRuns();
+    }
+
+    /**
+     * Runs Kruskal's algorithm over edges given in ascending weight order, such as the output
+     * of an ExternalEdgeSorter, and passes the id of every edge in the minimum spanning forest
+     * to 'treeEdges' as soon as it is found. Nothing but the union-find array over the vertices
+     * is held in memory. Returns the number of tree edges.
+     *
+     * @param numVertices - the vertices are numbered 0 through numVertices - 1
+     * @param edgesByWeight - the edge ids, lightest first
+     * @param edgeVertex1 - maps an edge id to one of its endpoints
+     * @param edgeVertex2 - maps an edge id to its other endpoint
+     * @param treeEdges - receives the ids of the tree edges
+     */
+    public static int findMinimumSpanningTree(int numVertices, PrimitiveIterator.OfInt edgesByWeight,
+                                              IntUnaryOperator edgeVertex1, IntUnaryOperator edgeVertex2,
+                                              IntConsumer treeEdges) {
+        return IntGraphAlgorithms.findMinimumSpanningTree(numVertices, edgesByWeight,
+                edgeVertex1, edgeVertex2, treeEdges);
+    }
+
+    /**
+     * Helper method that sorts the in-memory run by weight, keeping equal weights in order
+     */
+    private void sortRun() {
+        int[] order = RadixSort.sortedOrder(runWeights, runSize);
+        int[] ids = new int[runSize];
+        double[] weights = new double[runSize];
+        for (int i = 0; i < runSize; i++) {
+            ids[i] = runIds[order[i]];
+            weights[i] = runWeights[order[i]];
+        }
+        System.arraycopy(ids, 0, runIds, 0, runSize);
+        System.arraycopy(weights, 0, runWeights, 0, runSize);
+    }
+
+    /**
+     * Helper method that sorts the in-memory run and writes it to a new temporary file
+     */
+    private void spillRun() throws IOException {
+        sortRun();
+        File file = File.createTempFile("edges-run-", ".bin", tempDirectory);
+        if (numRuns == runFiles.length) {
+            File[] oldFiles = runFiles;
+            runFiles = new File[numRuns * 2];
+            System.arraycopy(oldFiles, 0, runFiles, 0, numRuns);
+        }
+        runFiles[numRuns++] = file;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE - IO_BUFFER_SIZE % RECORD_SIZE);
+            for (int i = 0; i < runSize; i++) {
+                if (buffer.remaining() < RECORD_SIZE) {
+                    writeFully(channel, buffer);
+                }
+                buffer.putInt(runIds[i]).putDouble(runWeights[i]);
+            }
+            writeFully(channel, buffer);
+        }
+        runSize = 0;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Helper method that opens a cursor on every run and puts the non-empty ones in a heap. If
+     * any run fails to open or read, every cursor opened so far is closed before rethrowing.
+     */
+    private ArrayHeap<RunCursor> openRuns() throws IOException {
+        ArrayHeap<RunCursor> heap = new ArrayHeap<>(numRuns);
+        // Each run gets an equal share of the memory the in-memory run used to hold
+        int bufferSize = Math.max(IO_BUFFER_SIZE / 16,
+                (int) Math.min(IO_BUFFER_SIZE, (long) runIds.length * RECORD_SIZE * 2 / numRuns));
+        bufferSize -= bufferSize % RECORD_SIZE;
+        RunCursor cursor = null;
+        try {
+            for (int run = 0; run < numRuns; run++) {
+                cursor = new RunCursor(run, runFiles[run], bufferSize);
+                if (cursor.advance()) {
+                    heap.insert(cursor);
+                } else {
+                    cursor.close();
+                }
+                cursor = null;
+            }
+        } catch (IOException | RuntimeException e) {
+            if (cursor != null) {
+                closeQuietly(cursor, e);
+            }
+            while (!heap.isEmpty()) {
+                closeQuietly(heap.removeMin(), e);
+            }
+            throw e;
+        }
+        return heap;
+    }
+
+    /**
+     * Helper method that closes a cursor while another failure is already being thrown, adding
+     * any error from the close to that failure instead of replacing it
+     */
+    private static void closeQuietly(RunCursor cursor, Exception failure) {
+        try {
+            cursor.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void deleteRuns() throws IOException {
+        for (int run = 0; run < numRuns; run++) {
+            if (runFiles[run] != null) {
+                if (runFiles[run].exists() && !runFiles[run].delete()) {
+                    throw new IOException("ERROR: Could not delete " + runFiles[run] + ".");
+                }
+                runFiles[run] = null;
+            }
+        }
+    }
+
+    /**
+     * Iterates over the sorted edge ids. After each call to nextInt, lastWeight returns the
+     * weight of the edge that was just returned. Read errors are thrown as UncheckedIOException.
+     */
+    public static final class SortedEdgeIterator implements PrimitiveIterator.OfInt, Closeable {
+        private final MemoryCursor memory;
+        private final ArrayHeap<RunCursor> runs;
+        private double lastWeight;
+        private boolean started;
+
+        private SortedEdgeIterator(MemoryCursor memory) {
+            this.memory = memory;
+            this.runs = null;
+            this.started = false;
+        }
+
+        private SortedEdgeIterator(ArrayHeap<RunCursor> runs) {
+            this.memory = null;
+            this.runs = runs;
+            this.started = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return memory != null ? memory.hasNext() : !runs.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("ERROR: There is no such element!");
+            }
+            started = true;
+            if (memory != null) {
+                lastWeight = memory.peekWeight();
+                return memory.next();
+            }
+            RunCursor cursor = runs.peekMin();
+            int edgeId = cursor.edgeId;
+            lastWeight = cursor.weight;
+            try {
+                if (cursor.advance()) {
+                    // The cursor's key grew, so it has to sink back into place
+                    runs.replaceMin(cursor);
+                } else {
+                    runs.removeMin();
+                    cursor.close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return edgeId;
+        }
+
+        /**
+         * Returns the weight of the edge most recently returned by nextInt.
+         *
+         * @throws IllegalStateException if nextInt has not been called yet
+         */
+        public double lastWeight() {
+            if (!started) {
+                throw new IllegalStateException("ERROR: No edge has been returned yet.");
+            }
+            return lastWeight;
+        }
+
+        /**
+         * Closes every run file that is still open.
+         */
+        @Override
+        public void close() throws IOException {
+            if (runs != null) {
+                while (!runs.isEmpty()) {
+                    runs.removeMin().close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks the single in-memory run when nothing had to be spilled.
+     */
+    private final class MemoryCursor {
+        private int position = 0;
+
+        private boolean hasNext() {
+            return position < runSize;
+        }
+
+        private double peekWeight() {
+            return runWeights[position];
+        }
+
+        private int next() {
+            return runIds[position++];
+        }
+    }
+
+    /**
+     * Reads one run file sequentially. Cursors are ordered by their current weight, and then by
+     * run number so that equal weights come out in the order they were added.
+     */
+    private static final class RunCursor implements Comparable<RunCursor>, Closeable {
+        private final int run;
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private int edgeId;
+        private double weight;
+
+        private RunCursor(int run, File file, int bufferSize) throws IOException {
+            this.run = run;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.buffer.flip();
+        }
+
+        /**
+         * Moves to the next record, returning false if the run is exhausted.
+         */
+        private boolean advance() throws IOException {
+            if (buffer.remaining() < RECORD_SIZE) {
+                buffer.compact();
+                while (buffer.position() < RECORD_SIZE && channel.read(buffer) >= 0) {
+                    // Keep reading until at least one whole record is buffered
+                }
+                buffer.flip();
+                if (buffer.remaining() < RECORD_SIZE) {
+                    return false;
+                }
+            }
+            edgeId = buffer.getInt();
+            weight = buffer.getDouble();
+            return true;
+        }
+
+        @Override
+        public int compareTo(RunCursor other) {
+            int cmp = Double.compare(this.weight + 0.0, other.weight + 0.0);
+            return cmp != 0 ? cmp : Integer.compare(this.run, other.run);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -3,14 +3,17 @@ package misc.graphs;
 //Robbie said this was okay on 11/14
 import datastructures.concrete.*;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
 import datastructures.interfaces.IList;
-import datastructures.interfaces.IPriorityQueue;
 import datastructures.interfaces.ISet;
-import misc.Searcher;
+import misc.RadixSort;
 import misc.exceptions.NoPathExistsException;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.ToLongFunction;
+
 
 /**
  * Represents an undirected, weighted graph, possibly containing self-loops, parallel edges,
@@ -19,26 +22,28 @@ import misc.exceptions.NoPathExistsException;
  * Note: This class is not meant to be a full-featured way of representing a graph.
  * We stick with supporting just a few, core set of operations needed for the
  * remainder of the project.
+ * <p>
+ * Internally, every vertex is interned to a dense int id exactly once, when the graph
+ * is constructed. Edges are numbered in ascending weight order and the adjacency lists
+ * are stored as flat int arrays, so the algorithms below only ever work with ints and
+ * translate back to V and E at the API boundary.
+ * <p>
+ * Vertices and edges are fixed once the graph is constructed. The only supported mutation
+ * is refreshWeights(), which re-reads edge weights that changed after construction; each
+ * call bumps getModificationCount().
+ * <p>
+ * Edge order is defined by getWeight() alone: edges are sorted by ascending weight, and
+ * edges of equal weight keep the order they were added in. E's compareTo is never called,
+ * so an edge type whose compareTo disagrees with getWeight() (for example, one that breaks
+ * ties some other way) may see, say, a different one of several equally light spanning trees.
  */
 public class Graph<V, E extends Edge<V> & Comparable<E>> {
-    private IDictionary<V, ISet<E>> adj;
-    private IList<E> sortedEdges;
-    private ArrayDisjointSet<V> forest;
-    // NOTE 1:
-    //
-    // Feel free to add as many fields, private helper methods, and private
-    // inner classes as you want.
-    //
-    // And of course, as always, you may also use any of the data structures
-    // and algorithms we've implemented so far.
-    //
-    // Note: If you plan on adding a new class, please be sure to make it a private
-    // static inner class contained within this file. Our testing infrastructure
-    // works by copying specific files from your project to ours, and if you
-    // add new files, they won't be copied and your code will not compile.
-    //
-    //
-    // NOTE 2:
+    private VertexIndex<V> vertexIndex;
+    // Edges sorted by weight; an edge's id is its position in this array
+    private E[] edges;
+    private ArrayIntGraph structure;
+    private int modificationCount;
+    // NOTE:
     //
     // You may notice that the generic types of Graph are a little bit more
     // complicated then usual.
@@ -67,28 +72,11 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      * @throws IllegalArgumentException if any of the edges have a negative weight
      * @throws IllegalArgumentException if one of the edges connects to a vertex not
      *                                  present in the 'vertices' list
+     * @throws IllegalArgumentException if the same vertex appears more than once in
+     *                                  the 'vertices' list
      */
     public Graph(IList<V> vertices, IList<E> edges) {
-        sortedEdges = Searcher.topKSort(edges.size(), edges);
-        if (sortedEdges == null || sortedEdges.get(0).getWeight() < 0) {
-            throw new IllegalArgumentException("ERROR: Can not have a negative weight.");
-        }
-        forest = new ArrayDisjointSet<>(sortedEdges.size());
-        adj = new ChainedHashDictionary<>();
-
-        for (V v : vertices) {
-            adj.put(v, new ChainedHashSet<>());
-            forest.makeSet(v);
-        }
-        for (E e : edges) {
-            V vertex1 = e.getVertex1();
-            V vertex2 = e.getVertex2();
-            if (!adj.containsKey(vertex1) || !adj.containsKey(vertex2)) {
-                throw new IllegalArgumentException("ERROR: The vertex is not contained");
-            }
-            adj.get(vertex1).add(e);
-            adj.get(vertex2).add(e);
-        }
+        this(new Builder<V, E>(vertices.size(), edges.size()).addVertices(vertices).addEdges(edges));
     }
 
     /**
@@ -97,32 +85,116 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      * convenient.
      */
     public Graph(ISet<V> vertices, ISet<E> edges) {
-        // You do not need to modify this method.
-        this(setToList(vertices), setToList(edges));
+        this(new Builder<V, E>(vertices.size(), edges.size()).addVertices(vertices).addEdges(edges));
+    }
+
+    /**
+     * Constructs a new graph from everything added to the given builder.
+     */
+    private Graph(Builder<V, E> builder) {
+        vertexIndex = builder.vertexIndex;
+        loadEdges(builder.edges, builder.edgeVertex1, builder.edgeVertex2, builder.edgeWeights, builder.numEdges);
+        modificationCount = 0;
+    }
+
+    /**
+     * Helper method that sorts the first 'count' edges by weight (not by compareTo, see the
+     * class comment) and (re)builds every edge array and the adjacency lists from them. The
+     * given endpoints and weights must already be validated.
+     */
+    private void loadEdges(E[] unsortedEdges, int[] vertex1s, int[] vertex2s, double[] weights, int count) {
+        int[] order = RadixSort.sortedOrder(weights, count);
+        E[] newEdges = makeArrayOfE(count);
+        int[] edgeVertex1 = new int[count];
+        int[] edgeVertex2 = new int[count];
+        double[] edgeWeights = new double[count];
+        for (int id = 0; id < count; id++) {
+            int e = order[id];
+            newEdges[id] = unsortedEdges[e];
+            edgeVertex1[id] = vertex1s[e];
+            edgeVertex2[id] = vertex2s[e];
+            edgeWeights[id] = weights[e];
+        }
+        edges = newEdges;
+        structure = new ArrayIntGraph(vertexIndex.size(), edgeVertex1, edgeVertex2, edgeWeights);
+    }
+
+    /**
+     * This method will return a new, empty array of the given size
+     * that can contain elements of type E.
+     */
+    @SuppressWarnings("unchecked")
+    private E[] makeArrayOfE(int size) {
+        return (E[]) new Edge[size];
+    }
+
+    /**
+     * Re-reads the weight of every edge in this graph.
+     * <p>
+     * Edge weights are captured when the graph is constructed, so a client that changes
+     * the weight of an edge afterwards (for example, through Wall.setDistance) must call
+     * this method before searching the graph again. Doing so counts as a modification.
+     *
+     * @throws IllegalArgumentException if any of the edges now have a negative weight; the
+     *                                  graph is left unchanged
+     */
+    public void refreshWeights() {
+        int count = edges.length;
+        int[] vertex1s = new int[count];
+        int[] vertex2s = new int[count];
+        double[] weights = new double[count];
+        for (int e = 0; e < count; e++) {
+            weights[e] = edges[e].getWeight();
+            if (weights[e] < 0) {
+                throw new IllegalArgumentException("ERROR: Can not have a negative weight.");
+            }
+            vertex1s[e] = structure.edgeVertex1(e);
+            vertex2s[e] = structure.edgeVertex2(e);
+        }
+        loadEdges(edges, vertex1s, vertex2s, weights, count);
+        modificationCount++;
+    }
+
+    /**
+     * Returns the number of times this graph has been modified since it was constructed.
+     * Clients holding results derived from this graph can compare this value to tell
+     * whether those results are stale.
+     */
+    public int getModificationCount() {
+        return modificationCount;
     }
 
-    // You shouldn't need to call this helper method -- it only needs to be used
-    // in the constructor above.
-    private static <T> IList<T> setToList(ISet<T> set) {
-        IList<T> output = new DoubleLinkedList<>();
-        for (T item : set) {
-            output.add(item);
+    /**
+     * Writes a snapshot of this graph to the given file, replacing it if it exists, so that
+     * it can be reopened later with MappedGraph.open without rebuilding it.
+     * <p>
+     * Each vertex is stored under the key the given function returns for it, which is how
+     * clients of the MappedGraph find that vertex again. Edges are stored by their endpoints
+     * and weight only.
+     *
+     * @throws IllegalArgumentException if two vertices are given the same key
+     * @throws IOException if the file can not be written
+     */
+    public void writeSnapshot(File file, ToLongFunction<? super V> vertexKey) throws IOException {
+        long[] vertexKeys = new long[vertexIndex.size()];
+        for (int v = 0; v < vertexKeys.length; v++) {
+            vertexKeys[v] = vertexKey.applyAsLong(vertexIndex.vertexAt(v));
         }
-        return output;
+        MappedGraph.write(structure, vertexKeys, file);
     }
 
     /**
      * Returns the number of vertices contained within this graph.
      */
     public int numVertices() {
-        return adj.size();
+        return vertexIndex.size();
     }
 
     /**
      * Returns the number of edges contained within this graph.
      */
     public int numEdges() {
-        return sortedEdges.size();
+        return edges.length;
     }
 
     /**
@@ -135,11 +207,8 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      */
     public ISet<E> findMinimumSpanningTree() {
         ISet<E> mst = new ChainedHashSet<>();
-        for (E e : sortedEdges) {
-            if (forest.findSet(e.getVertex1()) != forest.findSet(e.getVertex2())) {
-                mst.add(e);
-                forest.union(e.getVertex1(), e.getVertex2());
-            }
+        for (int e : IntGraphAlgorithms.findMinimumSpanningTree(structure)) {
+            mst.add(edges[e]);
         }
         return mst;
     }
@@ -153,113 +222,224 @@ public class Graph<V, E extends Edge<V> & Comparable<E>> {
      * the edge connecting to the end node.
      * <p>
      * Return an empty list if the start and end vertices are the same.
+     * <p>
+     * The returned path is array-backed and read-only, and also reports its total weight.
      *
      * @throws NoPathExistsException if there does not exist a path from the start to the end
      */
-    public IList<E> findShortestPathBetween(V start, V end) {
-        IDictionary<V, Double> weights = new ChainedHashDictionary<>();
-        IDictionary<V, IList<E>> paths = new ChainedHashDictionary<>();
-        IPriorityQueue<VertexInfo<V>> nextVertex = new ArrayHeap<>();
-
-        //Base case, shortest path, return a blank list
-        if (start.equals(end)){
-            return new DoubleLinkedList<>();
+    public Path<E> findShortestPathBetween(V start, V end) {
+        //Base case, shortest path, return a blank path
+        if (start.equals(end)) {
+            return new Path<>(makeArrayOfE(0), 0.0);
         }
 
         //Otherwise, check to make sure the start/end exist
-        validateIndex(start);
-        validateIndex(end);
-
-        //Initialize the weights dictionary to contain infinity for all vertices
-        for (KVPair<V, ISet<E>> pair : adj) {
-            weights.put(pair.getKey(), Double.POSITIVE_INFINITY);
-        }
+        int source = validateIndex(start);
+        int target = validateIndex(end);
 
-        //The start vertex should have a weight of 0,
-        weights.put(start, 0.0);
-        paths.put(start, new DoubleLinkedList<>());
-        //Add the start into the queue
-        nextVertex.insert(new VertexInfo<V>(start, 0));
-
-        //While we have vertices to visit
-        while (!nextVertex.isEmpty()) {
-            //Get the next vertex
-            VertexInfo<V> info = nextVertex.removeMin();
-            for (E e : adj.get(info.v)) {
-                //Get the first vertex
-                V v1 = info.v;
-                //Get the other vertex that the path leads to
-                V v2 = (info.v.equals(e.getVertex1())) ? e.getVertex2() : e.getVertex1();
-
-                //If the new path is less than the previous one
-                if (weights.get(v2) > weights.get(v1) + e.getWeight()) {
-                    //Update the weight
-                    weights.put(v2, weights.get(v1) + e.getWeight());
-                    //Copy the path from the node that was used to visit this node
-                    IList<E> newPath = new DoubleLinkedList<>();
-                    for (E e2 : paths.get(v1)) {
-                        newPath.add(e2);
-                    }
-                    //Add the new path
-                    newPath.add(e);
-                    //Put this list of paths into the dictionary
-                    paths.put(v2, newPath);
-                    nextVertex.insert(new VertexInfo<>(v2, weights.get(v2)));
-                }
-            }
-        }
+        int[] pathIds = IntGraphAlgorithms.findShortestPath(structure, source, target);
         //If a path doesn't exist, throw the exception
-        if (!paths.containsKey(end)){
+        if (pathIds == null) {
             throw new NoPathExistsException("ERROR: The path does not exist.");
         }
-        //Otherwise return the path
-        return paths.get(end);
+        //Otherwise translate the edge ids back into edges
+        E[] path = makeArrayOfE(pathIds.length);
+        double totalWeight = 0.0;
+        for (int i = 0; i < pathIds.length; i++) {
+            path[i] = edges[pathIds[i]];
+            totalWeight += structure.edgeWeight(pathIds[i]);
+        }
+        return new Path<>(path, totalWeight);
     }
 
     /**
      * Helper method that takes in a vertex and checks if it exists in the current graph
-     * @param v - the vertex to check\
+     * @param v - the vertex to check
+     * @return - the interned id of the vertex
      *          Throws IllegalArgumentException if the vertex doesn't exist
      */
-    private void validateIndex(V v) {
-        if (!adj.containsKey(v)) {
+    private int validateIndex(V v) {
+        int index = vertexIndex.indexOf(v);
+        if (index == -1) {
             throw new IllegalArgumentException("ERROR: The vertex is not valid.");
         }
+        return index;
     }
 
     /**
-     * Private inner class that is used to create a comparable object that contains the important info of each vertex
+     * Builds a Graph in a single pass over its vertices and edges.
+     * <p>
+     * Every vertex must be added before any edge touching it. Each edge is validated as
+     * it is added, looking each endpoint up exactly once, and the internal tables are sized
+     * up front from the expected counts (they still grow if those turn out to be too small).
+     * A builder can only build one graph.
      */
-    private static class VertexInfo<V> implements Comparable<VertexInfo<V>> {
-        public V v;
-        double weight;
+    public static class Builder<V, E extends Edge<V> & Comparable<E>> {
+        private VertexIndex<V> vertexIndex;
+        private E[] edges;
+        private int[] edgeVertex1;
+        private int[] edgeVertex2;
+        private double[] edgeWeights;
+        private int numEdges;
+
+        /**
+         * Constructs a builder expecting roughly the given number of vertices and edges.
+         *
+         * @throws IllegalArgumentException if either count is negative
+         */
+        @SuppressWarnings("unchecked")
+        public Builder(int expectedVertices, int expectedEdges) {
+            if (expectedVertices < 0 || expectedEdges < 0) {
+                throw new IllegalArgumentException("ERROR: The expected sizes can not be negative.");
+            }
+            vertexIndex = new VertexIndex<>(expectedVertices);
+            int capacity = Math.max(expectedEdges, 1);
+            edges = (E[]) new Edge[capacity];
+            edgeVertex1 = new int[capacity];
+            edgeVertex2 = new int[capacity];
+            edgeWeights = new double[capacity];
+            numEdges = 0;
+        }
+
+        /**
+         * Adds the given vertex to the graph.
+         *
+         * @throws IllegalArgumentException if the vertex was already added
+         * @throws IllegalStateException if this builder already built its graph
+         */
+        public Builder<V, E> addVertex(V vertex) {
+            checkNotBuilt();
+            vertexIndex.intern(vertex);
+            return this;
+        }
+
+        /**
+         * Adds every one of the given vertices to the graph.
+         *
+         * @throws IllegalArgumentException if any vertex was already added
+         * @throws IllegalStateException if this builder already built its graph
+         */
+        public Builder<V, E> addVertices(Iterable<V> vertices) {
+            for (V vertex : vertices) {
+                addVertex(vertex);
+            }
+            return this;
+        }
 
-        VertexInfo(V v, double weight) {
-            this.v = v;
-            this.weight = weight;
+        /**
+         * Adds the given edge to the graph.
+         *
+         * @throws IllegalArgumentException if the edge has a negative weight
+         * @throws IllegalArgumentException if the edge connects to a vertex that has not been added
+         * @throws IllegalStateException if this builder already built its graph
+         */
+        public Builder<V, E> addEdge(E edge) {
+            checkNotBuilt();
+            double weight = edge.getWeight();
+            if (weight < 0) {
+                throw new IllegalArgumentException("ERROR: Can not have a negative weight.");
+            }
+            int vertex1 = vertexIndex.indexOf(edge.getVertex1());
+            int vertex2 = vertexIndex.indexOf(edge.getVertex2());
+            if (vertex1 == -1 || vertex2 == -1) {
+                throw new IllegalArgumentException("ERROR: The vertex is not contained");
+            }
+            if (numEdges == edges.length) {
+                int capacity = numEdges * 2;
+                edges = Arrays.copyOf(edges, capacity);
+                edgeVertex1 = Arrays.copyOf(edgeVertex1, capacity);
+                edgeVertex2 = Arrays.copyOf(edgeVertex2, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            }
+            edges[numEdges] = edge;
+            edgeVertex1[numEdges] = vertex1;
+            edgeVertex2[numEdges] = vertex2;
+            edgeWeights[numEdges] = weight;
+            numEdges++;
+            return this;
+        }
+
+        /**
+         * Adds every one of the given edges to the graph.
+         *
+         * @throws IllegalArgumentException if any edge has a negative weight or connects to a
+         *                                  vertex that has not been added
+         * @throws IllegalStateException if this builder already built its graph
+         */
+        public Builder<V, E> addEdges(Iterable<E> edges) {
+            for (E edge : edges) {
+                addEdge(edge);
+            }
+            return this;
         }
 
-        @Override
-        public int compareTo(VertexInfo o) {
-            double diff = weight - o.weight;
-            if (diff == 0) {
-                return 0;
+        /**
+         * Returns the graph made of everything added so far.
+         *
+         * @throws IllegalStateException if this builder already built its graph
+         */
+        public Graph<V, E> build() {
+            checkNotBuilt();
+            Graph<V, E> graph = new Graph<>(this);
+            vertexIndex = null;
+            return graph;
+        }
+
+        private void checkNotBuilt() {
+            if (vertexIndex == null) {
+                throw new IllegalStateException("ERROR: This builder has already built its graph.");
             }
-            return (diff > 0) ? 1 : -1;
+        }
+    }
+
+    /**
+     * Private inner class that maps each vertex to a dense int id (and back).
+     * Every vertex is hashed once when it is interned; after that the graph only uses the ids.
+     */
+    private static class VertexIndex<V> {
+        private ObjectIntDictionary<V> ids;
+        private V[] vertices;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        VertexIndex(int capacity) {
+            ids = new ObjectIntDictionary<>(capacity);
+            vertices = (V[]) new Object[Math.max(capacity, 1)];
+            size = 0;
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (obj != null & getClass() == obj.getClass()) {
-                VertexInfo vInfo = (VertexInfo) obj;
-                return vInfo.v == this.v;
+        /**
+         * Assigns the next free id to the given vertex.
+         *
+         * @throws IllegalArgumentException if the vertex was already interned
+         */
+        int intern(V vertex) {
+            if (!ids.putIfAbsent(vertex, size)) {
+                throw new IllegalArgumentException("ERROR: The vertex was already added to the graph!");
             }
-            return false;
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, size * 2);
+            }
+            vertices[size] = vertex;
+            return size++;
+        }
+
+        /**
+         * Returns the id of the given vertex, or -1 if it is not part of the graph.
+         */
+        int indexOf(V vertex) {
+            return ids.getOrDefault(vertex, -1);
+        }
+
+        /**
+         * Returns the vertex with the given id.
+         */
+        V vertexAt(int index) {
+            return vertices[index];
         }
 
-        @Override
-        public int hashCode() {
-            return v.hashCode();
+        int size() {
+            return size;
         }
     }
 }
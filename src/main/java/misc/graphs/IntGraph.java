@@ -0,0 +1,56 @@
+package misc.graphs;
+
+/**
+ * Represents an undirected, weighted graph whose vertices and edges are identified by
+ * dense int ids rather than by objects.
+ *
+ * Edge ids are numbered in ascending weight order. The edges touching vertex v are
+ * adjacentEdge(adjacencyStart(v)) up to (but not including) adjacentEdge(adjacencyStart(v + 1)).
+ *
+ * This is the form every graph algorithm in this package actually runs on; see IntGraphAlgorithms.
+ */
+interface IntGraph {
+    /**
+     * Returns the number of vertices in this graph.
+     */
+    int numVertices();
+
+    /**
+     * Returns the number of edges in this graph.
+     */
+    int numEdges();
+
+    /**
+     * Returns the id of one of the vertices of the given edge.
+     */
+    int edgeVertex1(int edge);
+
+    /**
+     * Returns the id of the other vertex of the given edge.
+     */
+    int edgeVertex2(int edge);
+
+    /**
+     * Returns the weight of the given edge.
+     */
+    double edgeWeight(int edge);
+
+    /**
+     * Returns the index of the first edge touching the given vertex. Passing numVertices()
+     * returns the total length of the adjacency list.
+     */
+    int adjacencyStart(int vertex);
+
+    /**
+     * Returns the edge id stored at the given index of the adjacency list.
+     */
+    int adjacentEdge(int index);
+
+    /**
+     * Given a vertex that is a part of the given edge, returns the other vertex.
+     */
+    default int otherVertex(int edge, int vertex) {
+        int vertex1 = edgeVertex1(edge);
+        return (vertex1 == vertex) ? edgeVertex2(edge) : vertex1;
+    }
+}
@@ -0,0 +1,157 @@
+package misc.graphs;
+
+import datastructures.concrete.IntDoubleHeap;
+
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The minimum spanning tree and shortest path algorithms, written against IntGraph so
+ * they can run on both an in-memory Graph and a MappedGraph.
+ */
+final class IntGraphAlgorithms {
+    private IntGraphAlgorithms() {
+    }
+
+    /**
+     * Returns the ids of the edges that make up a minimum spanning forest of the graph,
+     * found with Kruskal's algorithm.
+     */
+    static int[] findMinimumSpanningTree(IntGraph graph) {
+        int[] forest = new int[graph.numVertices()];
+        for (int v = 0; v < forest.length; v++) {
+            forest[v] = -1;
+        }
+        int[] mst = new int[Math.max(forest.length - 1, 0)];
+        int size = 0;
+        // Edge ids are already in ascending weight order, so Kruskal's is a single scan
+        for (int e = 0; e < graph.numEdges() && size < mst.length; e++) {
+            int root1 = findRoot(forest, graph.edgeVertex1(e));
+            int root2 = findRoot(forest, graph.edgeVertex2(e));
+            if (root1 != root2) {
+                mst[size++] = e;
+                unionByRank(forest, root1, root2);
+            }
+        }
+        if (size < mst.length) {
+            int[] trimmed = new int[size];
+            System.arraycopy(mst, 0, trimmed, 0, size);
+            return trimmed;
+        }
+        return mst;
+    }
+
+    /**
+     * Runs Kruskal's algorithm over edge ids given in ascending weight order, passing each edge
+     * of the minimum spanning forest to 'treeEdges' as it is found. Returns the number of
+     * tree edges. Stops reading the edges as soon as the forest is a single tree.
+     */
+    static int findMinimumSpanningTree(int numVertices, PrimitiveIterator.OfInt edgesByWeight,
+                                       IntUnaryOperator edgeVertex1, IntUnaryOperator edgeVertex2,
+                                       IntConsumer treeEdges) {
+        int[] forest = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            forest[v] = -1;
+        }
+        int maxTreeEdges = Math.max(numVertices - 1, 0);
+        int size = 0;
+        while (size < maxTreeEdges && edgesByWeight.hasNext()) {
+            int e = edgesByWeight.nextInt();
+            int root1 = findRoot(forest, edgeVertex1.applyAsInt(e));
+            int root2 = findRoot(forest, edgeVertex2.applyAsInt(e));
+            if (root1 != root2) {
+                treeEdges.accept(e);
+                size++;
+                unionByRank(forest, root1, root2);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the ids of the edges on the shortest path from the source to the target, in
+     * order, found with Dijkstra's algorithm. Returns null if there is no such path.
+     */
+    static int[] findShortestPath(IntGraph graph, int source, int target) {
+        //Every vertex starts at infinity and without an edge leading into it
+        double[] weights = new double[graph.numVertices()];
+        int[] previousEdge = new int[graph.numVertices()];
+        for (int v = 0; v < weights.length; v++) {
+            weights[v] = Double.POSITIVE_INFINITY;
+            previousEdge[v] = -1;
+        }
+        weights[source] = 0.0;
+
+        // Each vertex is in the queue at most once; finding a shorter path to a queued vertex
+        // lowers its key in place instead of queueing it again
+        IntDoubleHeap nextVertex = new IntDoubleHeap(graph.numVertices());
+        nextVertex.insert(source, 0.0);
+
+        while (!nextVertex.isEmpty()) {
+            int v1 = nextVertex.removeMin();
+            if (v1 == target) {
+                break;
+            }
+            for (int i = graph.adjacencyStart(v1); i < graph.adjacencyStart(v1 + 1); i++) {
+                int e = graph.adjacentEdge(i);
+                int v2 = graph.otherVertex(e, v1);
+                double newWeight = weights[v1] + graph.edgeWeight(e);
+                if (newWeight < weights[v2]) {
+                    boolean queued = weights[v2] != Double.POSITIVE_INFINITY;
+                    weights[v2] = newWeight;
+                    previousEdge[v2] = e;
+                    if (queued) {
+                        nextVertex.decreaseKey(v2, newWeight);
+                    } else {
+                        nextVertex.insert(v2, newWeight);
+                    }
+                }
+            }
+        }
+        if (source != target && previousEdge[target] == -1) {
+            return null;
+        }
+        //Walk back from the target to recover the edges in order
+        int hops = 0;
+        for (int v = target; v != source; v = graph.otherVertex(previousEdge[v], v)) {
+            hops++;
+        }
+        int[] path = new int[hops];
+        for (int v = target; v != source; v = graph.otherVertex(previousEdge[v], v)) {
+            path[--hops] = previousEdge[v];
+        }
+        return path;
+    }
+
+    /**
+     * Helper method that finds the root of the given vertex's tree, compressing the path along the way.
+     * Roots store their negated rank.
+     */
+    private static int findRoot(int[] forest, int v) {
+        int root = v;
+        while (forest[root] >= 0) {
+            root = forest[root];
+        }
+        while (forest[v] >= 0) {
+            int parent = forest[v];
+            forest[v] = root;
+            v = parent;
+        }
+        return root;
+    }
+
+    /**
+     * Helper method that joins the two given roots, hanging the shorter tree off of the taller one.
+     */
+    private static void unionByRank(int[] forest, int root1, int root2) {
+        if (forest[root2] < forest[root1]) {
+            forest[root1] = root2;
+        } else {
+            if (forest[root1] == forest[root2]) {
+                forest[root1]--;
+            }
+            forest[root2] = root1;
+        }
+    }
+}
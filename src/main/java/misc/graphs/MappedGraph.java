@@ -0,0 +1,264 @@
+package misc.graphs;
+
+import misc.exceptions.NoPathExistsException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only graph backed by a snapshot file written with Graph.writeSnapshot.
+ *
+ * The file is memory-mapped rather than read: opening a snapshot only validates its
+ * header, and every lookup reads straight out of the mapped pages. Many processes can
+ * open the same file and share one copy of it in the page cache.
+ *
+ * Vertices and edges are identified by the same dense int ids the original Graph used
+ * internally. Each vertex also carries the 64-bit key it was written with, so clients can
+ * find a vertex again (for example, by packing a Room's center into a long).
+ *
+ * File layout (big-endian):
+ * <pre>
+ *   int     magic, version, numVertices, numEdges, adjacencyLength, (padding)
+ *   long[]  vertex keys, indexed by vertex id
+ *   double[] edge weights, indexed by edge id (ascending)
+ *   int[]   vertex ids, sorted by vertex key
+ *   int[]   first vertex of each edge
+ *   int[]   second vertex of each edge
+ *   int[]   adjacency start offsets (numVertices + 1 entries)
+ *   int[]   adjacent edge ids
+ * </pre>
+ *
+ * Note: a single mapping is limited to 2GB, so snapshots larger than that are not supported.
+ */
+public class MappedGraph implements IntGraph {
+    private static final int MAGIC = 0x4d5a4752; // "MZGR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+
+    private final MappedByteBuffer buffer;
+    private final int numVertices;
+    private final int numEdges;
+    private final int keysOffset;
+    private final int weightsOffset;
+    private final int sortedIdsOffset;
+    private final int vertex1Offset;
+    private final int vertex2Offset;
+    private final int adjacencyStartOffset;
+    private final int adjacentEdgesOffset;
+
+    private MappedGraph(MappedByteBuffer buffer, int numVertices, int numEdges) {
+        this.buffer = buffer;
+        this.numVertices = numVertices;
+        this.numEdges = numEdges;
+        keysOffset = HEADER_SIZE;
+        weightsOffset = keysOffset + numVertices * Long.BYTES;
+        sortedIdsOffset = weightsOffset + numEdges * Double.BYTES;
+        vertex1Offset = sortedIdsOffset + numVertices * Integer.BYTES;
+        vertex2Offset = vertex1Offset + numEdges * Integer.BYTES;
+        adjacencyStartOffset = vertex2Offset + numEdges * Integer.BYTES;
+        adjacentEdgesOffset = adjacencyStartOffset + (numVertices + 1) * Integer.BYTES;
+    }
+
+    /**
+     * Memory-maps the given snapshot file.
+     *
+     * @throws IOException if the file can not be read or is not a graph snapshot
+     */
+    public static MappedGraph open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("ERROR: " + file + " is not a graph snapshot.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("ERROR: " + file + " is not a graph snapshot.");
+            }
+            int numVertices = buffer.getInt(2 * Integer.BYTES);
+            int numEdges = buffer.getInt(3 * Integer.BYTES);
+            int adjacencyLength = buffer.getInt(4 * Integer.BYTES);
+            if (numVertices < 0 || numEdges < 0 || adjacencyLength < 0
+                    || fileSize != sizeOf(numVertices, numEdges, adjacencyLength)) {
+                throw new IOException("ERROR: " + file + " is truncated or corrupt.");
+            }
+            return new MappedGraph(buffer, numVertices, numEdges);
+        }
+    }
+
+    /**
+     * Writes the given graph to the given file, replacing it if it exists. vertexKeys[v]
+     * is the key stored for vertex v.
+     */
+    static void write(IntGraph graph, long[] vertexKeys, File file) throws IOException {
+        int numVertices = graph.numVertices();
+        int numEdges = graph.numEdges();
+        int adjacencyLength = graph.adjacencyStart(numVertices);
+        long fileSize = sizeOf(numVertices, numEdges, adjacencyLength);
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("ERROR: The graph is too large to snapshot.");
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            out.putInt(MAGIC).putInt(VERSION).putInt(numVertices).putInt(numEdges).putInt(adjacencyLength).putInt(0);
+            for (long key : vertexKeys) {
+                out.putLong(key);
+            }
+            for (int e = 0; e < numEdges; e++) {
+                out.putDouble(graph.edgeWeight(e));
+            }
+            for (int v : sortByKey(vertexKeys)) {
+                out.putInt(v);
+            }
+            for (int e = 0; e < numEdges; e++) {
+                out.putInt(graph.edgeVertex1(e));
+            }
+            for (int e = 0; e < numEdges; e++) {
+                out.putInt(graph.edgeVertex2(e));
+            }
+            for (int v = 0; v <= numVertices; v++) {
+                out.putInt(graph.adjacencyStart(v));
+            }
+            for (int i = 0; i < adjacencyLength; i++) {
+                out.putInt(graph.adjacentEdge(i));
+            }
+            out.force();
+        }
+    }
+
+    private static long sizeOf(int numVertices, int numEdges, int adjacencyLength) {
+        return HEADER_SIZE
+                + (long) numVertices * (Long.BYTES + Integer.BYTES)
+                + (long) numEdges * (Double.BYTES + 2 * Integer.BYTES)
+                + (long) (numVertices + 1) * Integer.BYTES
+                + (long) adjacencyLength * Integer.BYTES;
+    }
+
+    /**
+     * Returns the vertex ids ordered by their keys.
+     *
+     * @throws IllegalArgumentException if two vertices share a key
+     */
+    private static int[] sortByKey(long[] vertexKeys) {
+        long[] sortedKeys = vertexKeys.clone();
+        Arrays.sort(sortedKeys);
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i] == sortedKeys[i - 1]) {
+                throw new IllegalArgumentException("ERROR: Two vertices have the same key.");
+            }
+        }
+        int[] ids = new int[vertexKeys.length];
+        for (int v = 0; v < vertexKeys.length; v++) {
+            ids[Arrays.binarySearch(sortedKeys, vertexKeys[v])] = v;
+        }
+        return ids;
+    }
+
+    @Override
+    public int numVertices() {
+        return numVertices;
+    }
+
+    @Override
+    public int numEdges() {
+        return numEdges;
+    }
+
+    @Override
+    public int edgeVertex1(int edge) {
+        return buffer.getInt(vertex1Offset + checkEdge(edge) * Integer.BYTES);
+    }
+
+    @Override
+    public int edgeVertex2(int edge) {
+        return buffer.getInt(vertex2Offset + checkEdge(edge) * Integer.BYTES);
+    }
+
+    @Override
+    public double edgeWeight(int edge) {
+        return buffer.getDouble(weightsOffset + checkEdge(edge) * Double.BYTES);
+    }
+
+    @Override
+    public int adjacencyStart(int vertex) {
+        return buffer.getInt(adjacencyStartOffset + vertex * Integer.BYTES);
+    }
+
+    @Override
+    public int adjacentEdge(int index) {
+        return buffer.getInt(adjacentEdgesOffset + index * Integer.BYTES);
+    }
+
+    /**
+     * Returns the key the given vertex was written with.
+     *
+     * @throws IndexOutOfBoundsException if there is no vertex with the given id
+     */
+    public long vertexKey(int vertex) {
+        return buffer.getLong(keysOffset + checkVertex(vertex) * Long.BYTES);
+    }
+
+    /**
+     * Returns the id of the vertex with the given key, or -1 if there is no such vertex.
+     */
+    public int findVertex(long key) {
+        int low = 0;
+        int high = numVertices - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int vertex = buffer.getInt(sortedIdsOffset + mid * Integer.BYTES);
+            long midKey = buffer.getLong(keysOffset + vertex * Long.BYTES);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return vertex;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the ids of the edges that make up a minimum spanning tree of this graph.
+     * <p>
+     * Precondition: the graph does not contain any unconnected components.
+     */
+    public int[] findMinimumSpanningTree() {
+        return IntGraphAlgorithms.findMinimumSpanningTree(this);
+    }
+
+    /**
+     * Returns the ids of the edges that make up the shortest path from the start vertex
+     * to the end vertex, in order. Returns an empty array if the start and end are the same.
+     *
+     * @throws IndexOutOfBoundsException if there is no vertex with the start or end id
+     * @throws NoPathExistsException if there does not exist a path from the start to the end
+     */
+    public int[] findShortestPathBetween(int start, int end) {
+        int[] path = IntGraphAlgorithms.findShortestPath(this, checkVertex(start), checkVertex(end));
+        if (path == null) {
+            throw new NoPathExistsException("ERROR: The path does not exist.");
+        }
+        return path;
+    }
+
+    private int checkVertex(int vertex) {
+        if (vertex < 0 || vertex >= numVertices) {
+            throw new IndexOutOfBoundsException("ERROR: Invalid vertex id!");
+        }
+        return vertex;
+    }
+
+    private int checkEdge(int edge) {
+        if (edge < 0 || edge >= numEdges) {
+            throw new IndexOutOfBoundsException("ERROR: Invalid edge id!");
+        }
+        return edge;
+    }
+}
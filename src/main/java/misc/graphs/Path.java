@@ -0,0 +1,134 @@
+package misc.graphs;
+
+import datastructures.interfaces.IList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents the result of a shortest path search: the edges walked, in order,
+ * along with the total cost of walking them.
+ *
+ * The edges are stored in a single array, so a path costs one allocation no matter
+ * how many hops it contains. A Path is read-only: the IList methods that would
+ * modify it throw an UnsupportedOperationException.
+ */
+public class Path<E extends Edge<?>> implements IList<E> {
+    private final E[] edges;
+    private final double totalWeight;
+
+    /**
+     * Constructs a path over the given edges. The array is used as-is and must not be
+     * modified afterwards.
+     */
+    public Path(E[] edges, double totalWeight) {
+        if (edges == null) {
+            throw new IllegalArgumentException("ERROR: The edges can not be null.");
+        }
+        this.edges = edges;
+        this.totalWeight = totalWeight;
+    }
+
+    /**
+     * Returns the sum of the weights of every edge in this path.
+     */
+    public double getTotalWeight() {
+        return this.totalWeight;
+    }
+
+    /**
+     * Returns the item located at the given index.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    @Override
+    public E get(int index) {
+        if (index < 0 || index >= edges.length) {
+            throw new IndexOutOfBoundsException("ERROR: Invalid Index!");
+        }
+        return edges[index];
+    }
+
+    /**
+     * Returns the index corresponding to the first occurrence of the given item
+     * in the path, or -1 if the item is not in the path.
+     */
+    @Override
+    public int indexOf(E item) {
+        for (int i = 0; i < edges.length; i++) {
+            if (item == null ? edges[i] == null : item.equals(edges[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of edges in the path.
+     */
+    @Override
+    public int size() {
+        return edges.length;
+    }
+
+    /**
+     * Returns 'true' if the path walks the given edge, and 'false' otherwise.
+     */
+    @Override
+    public boolean contains(E other) {
+        return indexOf(other) != -1;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new PathIterator<>(this.edges);
+    }
+
+    @Override
+    public void add(E item) {
+        throw new UnsupportedOperationException("ERROR: A path can not be modified.");
+    }
+
+    @Override
+    public E remove() {
+        throw new UnsupportedOperationException("ERROR: A path can not be modified.");
+    }
+
+    @Override
+    public void set(int index, E item) {
+        throw new UnsupportedOperationException("ERROR: A path can not be modified.");
+    }
+
+    @Override
+    public void insert(int index, E item) {
+        throw new UnsupportedOperationException("ERROR: A path can not be modified.");
+    }
+
+    @Override
+    public E delete(int index) {
+        throw new UnsupportedOperationException("ERROR: A path can not be modified.");
+    }
+
+    private static class PathIterator<E> implements Iterator<E> {
+        private final E[] edges;
+        private int index;
+
+        public PathIterator(E[] edges) {
+            this.edges = edges;
+            this.index = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < edges.length;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("ERROR: There is no such element!");
+            }
+            return edges[index++];
+        }
+    }
+}
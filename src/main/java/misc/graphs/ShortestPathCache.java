@@ -0,0 +1,204 @@
+package misc.graphs;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoPathExistsException;
+
+/**
+ * A bounded, least-recently-used cache of shortest paths layered over a Graph.
+ *
+ * Repeated (start, end) queries are answered in O(1) without rerunning Dijkstra's.
+ * The cache holds at most 'capacity' results and evicts the least recently used one
+ * when it is full. Queries that found no path are cached too, and rethrow their
+ * NoPathExistsException on a hit.
+ *
+ * Whenever the underlying graph is modified (see Graph.getModificationCount), every
+ * cached result is discarded the next time the cache is consulted.
+ *
+ * Note: this class is not thread-safe.
+ */
+public class ShortestPathCache<V, E extends Edge<V> & Comparable<E>> {
+    private final Graph<V, E> graph;
+    private final int capacity;
+    private IDictionary<PathKey<V>, Entry<V, E>> entries;
+    // Sentinel of the circular recency list: head.next is the most recently used entry
+    private final Entry<V, E> head;
+    private int graphModificationCount;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Constructs a cache over the given graph that holds at most 'capacity' paths.
+     *
+     * @throws IllegalArgumentException if the graph is null or the capacity is not positive
+     */
+    public ShortestPathCache(Graph<V, E> graph, int capacity) {
+        if (graph == null) {
+            throw new IllegalArgumentException("ERROR: The graph can not be null.");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("ERROR: The capacity must be positive.");
+        }
+        this.graph = graph;
+        this.capacity = capacity;
+        this.head = new Entry<>(null, null, null);
+        clear();
+    }
+
+    /**
+     * Returns the shortest path from the start to the end, as described by
+     * Graph.findShortestPathBetween, computing it only if it is not already cached.
+     *
+     * @throws IllegalArgumentException if the start or end is not a vertex in the graph
+     * @throws NoPathExistsException if there does not exist a path from the start to the end
+     */
+    public Path<E> findShortestPathBetween(V start, V end) {
+        if (graph.getModificationCount() != graphModificationCount) {
+            invalidations++;
+            clear();
+        }
+        PathKey<V> key = new PathKey<>(start, end);
+        Entry<V, E> entry = entries.getOrDefault(key, null);
+        if (entry != null) {
+            hits++;
+            unlink(entry);
+            linkFirst(entry);
+        } else {
+            misses++;
+            Path<E> path;
+            try {
+                path = graph.findShortestPathBetween(start, end);
+            } catch (NoPathExistsException ex) {
+                path = null;
+            }
+            entry = new Entry<>(key, path, head);
+            if (entries.size() == capacity) {
+                Entry<V, E> eldest = head.prev;
+                unlink(eldest);
+                entries.remove(eldest.key);
+                evictions++;
+            }
+            entries.put(key, entry);
+            linkFirst(entry);
+        }
+        if (entry.path == null) {
+            throw new NoPathExistsException("ERROR: The path does not exist.");
+        }
+        return entry.path;
+    }
+
+    /**
+     * Discards every cached path. The hit and miss counters are not reset.
+     */
+    public void clear() {
+        entries = new ChainedHashDictionary<>();
+        head.next = head;
+        head.prev = head;
+        graphModificationCount = graph.getModificationCount();
+    }
+
+    /**
+     * Returns the number of paths currently cached.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the maximum number of paths this cache will hold.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of queries answered from the cache.
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of queries that had to search the graph.
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of paths discarded to make room for newer ones.
+     */
+    public long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of times the cache was emptied because the graph was modified.
+     */
+    public long getInvalidationCount() {
+        return invalidations;
+    }
+
+    private void linkFirst(Entry<V, E> entry) {
+        entry.prev = head;
+        entry.next = head.next;
+        head.next.prev = entry;
+        head.next = entry;
+    }
+
+    private void unlink(Entry<V, E> entry) {
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+    }
+
+    /**
+     * A cached result, linked into the recency list. A null path means no path exists.
+     */
+    private static class Entry<V, E extends Edge<V>> {
+        final PathKey<V> key;
+        final Path<E> path;
+        Entry<V, E> prev;
+        Entry<V, E> next;
+
+        Entry(PathKey<V> key, Path<E> path, Entry<V, E> neighbor) {
+            this.key = key;
+            this.path = path;
+            this.prev = neighbor;
+            this.next = neighbor;
+        }
+    }
+
+    /**
+     * An ordered (start, end) pair used to look up cached paths.
+     */
+    private static class PathKey<V> {
+        final V start;
+        final V end;
+
+        PathKey(V start, V end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) { return true; }
+            if (o == null || getClass() != o.getClass()) { return false; }
+
+            PathKey<?> that = (PathKey<?>) o;
+
+            if (start != null ? !start.equals(that.start) : that.start != null) { return false; }
+            return end != null ? end.equals(that.end) : that.end == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = start != null ? start.hashCode() : 0;
+            result = 31 * result + (end != null ? end.hashCode() : 0);
+            return result;
+        }
+    }
+}
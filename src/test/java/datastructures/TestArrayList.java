@@ -0,0 +1,115 @@
+package datastructures;
+
+import datastructures.concrete.ArrayList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class TestArrayList extends BaseTest {
+    protected IList<String> makeBasicList() {
+        IList<String> list = new ArrayList<>(0);
+
+        list.add("a");
+        list.add("b");
+        list.add("c");
+
+        return list;
+    }
+
+    protected <T> void assertListMatches(T[] expected, IList<T> actual) {
+        assertEquals(expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Item at index " + i + " does not match", expected[i], actual.get(i));
+        }
+        Iterator<T> iter = actual.iterator();
+        for (T item : expected) {
+            Assert.assertTrue(iter.hasNext());
+            assertEquals(item, iter.next());
+        }
+        Assert.assertFalse(iter.hasNext());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddGetAndSet() {
+        IList<String> list = makeBasicList();
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+        list.set(1, "z");
+        this.assertListMatches(new String[] {"a", "z", "c"}, list);
+        for (int i = 0; i < 1000; i++) {
+            list.add("" + i);
+        }
+        assertEquals(1003, list.size());
+        assertEquals("999", list.get(1002));
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAndDelete() {
+        IList<String> list = makeBasicList();
+        list.insert(0, "x");
+        list.insert(2, "y");
+        list.insert(list.size(), "w");
+        this.assertListMatches(new String[] {"x", "a", "y", "b", "c", "w"}, list);
+        assertEquals("y", list.delete(2));
+        assertEquals("x", list.delete(0));
+        assertEquals("w", list.delete(3));
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+        assertEquals("c", list.remove());
+        this.assertListMatches(new String[] {"a", "b"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIndexOfAndContains() {
+        IList<String> list = makeBasicList();
+        list.add(null);
+        assertEquals(1, list.indexOf("b"));
+        assertEquals(3, list.indexOf(null));
+        assertEquals(-1, list.indexOf("q"));
+        Assert.assertTrue(list.contains(null));
+        Assert.assertFalse(list.contains("q"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testWrapsArray() {
+        Integer[] items = {1, 2, 3, 4};
+        IList<Integer> list = new ArrayList<>(items, 3);
+        assertEquals(3, list.size());
+        list.add(9);
+        assertEquals(9, list.get(3));
+        list.add(10);
+        assertEquals(5, list.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testErrors() {
+        IList<String> list = new ArrayList<>();
+        try {
+            list.remove();
+            Assert.fail();
+        } catch (EmptyContainerException e) {
+            // All ok -- expected result
+        }
+        try {
+            list.get(0);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            // All ok -- expected result
+        }
+        try {
+            list.insert(1, "a");
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            // All ok -- expected result
+        }
+        try {
+            list.iterator().next();
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -385,4 +385,17 @@ public class TestChainedHashSet extends BaseTest {
             assertFalse(set.contains(i));
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testAddIfAbsent() {
+        ISet<String> set = this.makeBasicSet();
+        assertFalse(set.addIfAbsent("keyA"));
+        assertTrue(set.addIfAbsent("keyD"));
+        assertFalse(set.addIfAbsent("keyD"));
+        assertTrue(set.addIfAbsent(null));
+        assertFalse(set.addIfAbsent(null));
+        this.assertSetMatches(new String[] {"keyA", "keyB", "keyC", "keyD", null}, set);
+        set.remove(null);
+        assertTrue(set.addIfAbsent(null));
+    }
 }
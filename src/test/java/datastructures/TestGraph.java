@@ -8,8 +8,19 @@ import datastructures.interfaces.ISet;
 import misc.BaseTest;
 import misc.exceptions.NoPathExistsException;
 import misc.graphs.Edge;
+import misc.graphs.ExternalEdgeSorter;
 import misc.graphs.Graph;
+import misc.graphs.MappedGraph;
+import misc.graphs.Path;
+import misc.graphs.ShortestPathCache;
 import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.stream.IntStream;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -265,6 +276,31 @@ public class TestGraph extends BaseTest {
         }
     }
 
+    @Test(timeout=SECOND)
+    public void testBuilder() {
+        Graph.Builder<String, SimpleEdge<String>> builder = new Graph.Builder<>(2, 1);
+        builder.addVertex("a").addVertex("b").addVertex("c");
+        builder.addEdge(edge("a", "b", 2)).addEdge(edge("b", "c", 1)).addEdge(edge("a", "c", 4));
+        try {
+            builder.addEdge(edge("a", "d", 1));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+
+        Graph<String, SimpleEdge<String>> graph = builder.build();
+        assertEquals(3, graph.numVertices());
+        assertEquals(3, graph.numEdges());
+        checkPathMatches(graph, 3, new String[] {"a", "b", "c"});
+
+        try {
+            builder.addVertex("d");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+
     @Test(timeout=SECOND)
     public void testFindingMst() {
         Graph<String, SimpleEdge<String>> graph = this.buildSimpleGraph();
@@ -307,6 +343,88 @@ public class TestGraph extends BaseTest {
         assertEquals(0, path.size());
     }
 
+    @Test(timeout=SECOND)
+    public void testShortestPathReportsTotalWeight() {
+        Graph<String, SimpleEdge<String>> graph = this.buildComplexGraph();
+        Path<SimpleEdge<String>> path = graph.findShortestPathBetween("a", "g");
+        assertEquals(5, path.size());
+        assertEquals(6.0, path.getTotalWeight(), 0.0001);
+        assertEquals(0.0, graph.findShortestPathBetween("a", "a").getTotalWeight(), 0.0001);
+
+        try {
+            path.add(edge("a", "g", 9));
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShortestPathCache() {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        ShortestPathCache<String, SimpleEdge<String>> cache = new ShortestPathCache<>(graph, 2);
+
+        Path<SimpleEdge<String>> path = cache.findShortestPathBetween("a", "g");
+        assertTrue(path == cache.findShortestPathBetween("a", "g"));
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.findShortestPathBetween("a", "i");
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+        }
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(2, cache.size());
+
+        cache.findShortestPathBetween("i", "k");
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.getEvictionCount());
+        // "a" -> "g" was the least recently used path, so it must be searched again
+        cache.findShortestPathBetween("a", "g");
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(4L, cache.getMissCount());
+
+        graph.refreshWeights();
+        cache.findShortestPathBetween("i", "k");
+        assertEquals(1L, cache.getInvalidationCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testSnapshotRoundTrip() throws IOException {
+        Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
+        File file = File.createTempFile("graph", ".snapshot");
+        file.deleteOnExit();
+        graph.writeSnapshot(file, vertex -> vertex.charAt(0));
+
+        MappedGraph mapped = MappedGraph.open(file);
+        assertEquals(graph.numVertices(), mapped.numVertices());
+        assertEquals(graph.numEdges(), mapped.numEdges());
+        assertEquals(-1, mapped.findVertex('z'));
+        assertEquals((long) 'g', mapped.vertexKey(mapped.findVertex('g')));
+        assertEquals(graph.findMinimumSpanningTree().size(), mapped.findMinimumSpanningTree().length);
+
+        int a = mapped.findVertex('a');
+        int[] path = mapped.findShortestPathBetween(a, mapped.findVertex('g'));
+        assertEquals(5, path.length);
+        double cost = 0.0;
+        for (int e : path) {
+            cost += mapped.edgeWeight(e);
+        }
+        assertEquals(6.0, cost, 0.0001);
+
+        try {
+            mapped.findShortestPathBetween(a, mapped.findVertex('i'));
+            fail("Expected NoPathExistsException");
+        } catch (NoPathExistsException ex) {
+            // All ok -- expected result
+        }
+    }
+
     @Test(timeout=SECOND)
     public void testFindingShortestPathDisconnectedComponents() {
         Graph<String, SimpleEdge<String>> graph = this.buildDisconnectedGraph();
@@ -373,4 +491,121 @@ public class TestGraph extends BaseTest {
         checkPathMatches(graph, 12, new String[] {"c", "a", "d", "f"});
         checkPathMatches(graph, 12, new String[] {"f", "d", "a", "c"});
     }
+
+    @Test(timeout=5*SECOND)
+    public void testExternalEdgeSort() throws IOException {
+        // A 60x60 grid of rooms with a random weight on each wall
+        int side = 60;
+        int numEdges = 2 * side * (side - 1);
+        int[] vertex1 = new int[numEdges];
+        int[] vertex2 = new int[numEdges];
+        double[] weights = new double[numEdges];
+        IList<SimpleEdge<Integer>> edges = new DoubleLinkedList<>();
+        IList<Integer> vertices = new DoubleLinkedList<>();
+        Random random = new Random(11);
+        int e = 0;
+        for (int v = 0; v < side * side; v++) {
+            vertices.add(v);
+            if (v % side != side - 1) {
+                vertex1[e] = v;
+                vertex2[e] = v + 1;
+                weights[e++] = random.nextInt(50);
+            }
+            if (v + side < side * side) {
+                vertex1[e] = v;
+                vertex2[e] = v + side;
+                weights[e++] = random.nextInt(50);
+            }
+        }
+        for (int i = 0; i < numEdges; i++) {
+            edges.add(new SimpleEdge<>(vertex1[i], vertex2[i], weights[i]));
+        }
+
+        File directory = Files.createTempDirectory("runs").toFile();
+        directory.deleteOnExit();
+        try (ExternalEdgeSorter sorter = new ExternalEdgeSorter(directory, 500)) {
+            for (int i = 0; i < numEdges; i++) {
+                sorter.add(i, weights[i]);
+            }
+            assertEquals((long) numEdges, sorter.size());
+            ExternalEdgeSorter.SortedEdgeIterator sorted = sorter.sort();
+            assertTrue(directory.list().length > 1);
+
+            // Walk a copy of the merged stream checking order and stability, then build the MST
+            int count = 0;
+            int previous = -1;
+            double mstWeight = 0.0;
+            int[] treeEdges = new int[side * side];
+            int[] ids = new int[numEdges];
+            while (sorted.hasNext()) {
+                int id = sorted.nextInt();
+                assertEquals(weights[id], sorted.lastWeight(), 0.0);
+                if (previous != -1) {
+                    assertTrue(weights[previous] < weights[id]
+                            || (weights[previous] == weights[id] && previous < id));
+                }
+                ids[count++] = id;
+                previous = id;
+            }
+            assertEquals(numEdges, count);
+
+            int numTreeEdges = ExternalEdgeSorter.findMinimumSpanningTree(side * side,
+                    IntStream.of(ids).iterator(),
+                    id -> vertex1[id], id -> vertex2[id], id -> appendEdge(treeEdges, id));
+            assertEquals(side * side - 1, numTreeEdges);
+            for (int i = 0; i < numTreeEdges; i++) {
+                mstWeight += weights[treeEdges[i + 1]];
+            }
+            Graph<Integer, SimpleEdge<Integer>> graph = new Graph<>(vertices, edges);
+            double expected = 0.0;
+            for (SimpleEdge<Integer> edge : graph.findMinimumSpanningTree()) {
+                expected += edge.getWeight();
+            }
+            assertEquals(expected, mstWeight, 0.0001);
+        }
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test(timeout=SECOND)
+    public void testExternalEdgeSortClosesRunsWhenOneFailsToOpen() throws IOException {
+        File directory = Files.createTempDirectory("runs").toFile();
+        directory.deleteOnExit();
+        try (ExternalEdgeSorter sorter = new ExternalEdgeSorter(directory, 500)) {
+            // The 501st record spills the first run and the 1001st spills the second
+            for (int i = 0; i <= 500; i++) {
+                sorter.add(i, i);
+            }
+            String firstRun = directory.list()[0];
+            for (int i = 501; i <= 1000; i++) {
+                sorter.add(i, i);
+            }
+            assertEquals(2, directory.list().length);
+            for (File run : directory.listFiles()) {
+                if (!run.getName().equals(firstRun)) {
+                    assertTrue(run.delete());
+                }
+            }
+
+            // On Linux, count the open file descriptors to see that the first run was closed
+            File descriptors = new File("/proc/self/fd");
+            int openBefore = descriptors.isDirectory() ? descriptors.list().length : 0;
+            try {
+                sorter.sort();
+                fail("Expected IOException");
+            } catch (IOException e) {
+                // All ok -- expected result
+            }
+            if (descriptors.isDirectory()) {
+                assertTrue(descriptors.list().length <= openBefore);
+            }
+        }
+        assertEquals(0, directory.list().length);
+    }
+
+    /**
+     * Appends the id to the array, using slot 0 as the count.
+     */
+    private static void appendEdge(int[] treeEdges, int id) {
+        treeEdges[++treeEdges[0]] = id;
+    }
 }
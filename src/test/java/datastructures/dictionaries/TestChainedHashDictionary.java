@@ -88,4 +88,49 @@ public class TestChainedHashDictionary extends TestDictionary {
             dict.remove(i);
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testHashesOncePerOperation() {
+        IDictionary<CountingKey, Integer> dict = this.newDictionary();
+        CountingKey[] keys = new CountingKey[200];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new CountingKey(i);
+        }
+        for (CountingKey key : keys) {
+            key.hashes = 0;
+            dict.put(key, 0);
+            dict.putIfAbsent(key, 1);
+            dict.merge(key, 1, Integer::sum);
+            dict.computeIfAbsent(key, k -> 2);
+            assertTrue(dict.containsKey(key));
+            assertEquals(1, dict.get(key));
+            // Six operations, and 200 keys never make the table resize
+            assertEquals(6, key.hashes);
+        }
+        for (CountingKey key : keys) {
+            key.hashes = 0;
+            dict.remove(key);
+            assertEquals(1, key.hashes);
+        }
+    }
+
+    private static class CountingKey {
+        private final int id;
+        private int hashes;
+
+        CountingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CountingKey && ((CountingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            hashes++;
+            return id;
+        }
+    }
 }
@@ -0,0 +1,185 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ConcurrentHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the ChainedHashDictionary tests against ConcurrentHashDictionary, plus tests that
+ * update and read it from many threads at once.
+ */
+public class TestConcurrentHashDictionary extends TestChainedHashDictionary {
+    private static final int NUM_THREADS = 8;
+
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ConcurrentHashDictionary<>();
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testConcurrentPutsAcrossResizes() throws InterruptedException {
+        // A tiny starting table, so every segment resizes many times while threads insert
+        IDictionary<Integer, Integer> dict = new ConcurrentHashDictionary<>(0, 4);
+        final int perThread = 50000;
+        runThreads(NUM_THREADS, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = thread * perThread + i;
+                dict.put(key, -key);
+                assertEquals(-key, dict.get(key));
+            }
+        });
+        assertEquals(NUM_THREADS * perThread, dict.size());
+        for (int key = 0; key < NUM_THREADS * perThread; key++) {
+            assertEquals(-key, dict.get(key));
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testMergeAndComputeAreAtomic() throws InterruptedException {
+        IDictionary<Integer, Integer> counts = this.newDictionary();
+        IDictionary<Integer, Integer> computed = this.newDictionary();
+        AtomicInteger calls = new AtomicInteger(0);
+        final int numKeys = 64;
+        final int perThread = 100000;
+        runThreads(NUM_THREADS, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = (i * 31 + thread) % numKeys;
+                counts.merge(key, 1, Integer::sum);
+                computed.computeIfAbsent(key, k -> calls.incrementAndGet());
+            }
+        });
+        int total = 0;
+        for (KVPair<Integer, Integer> pair : counts) {
+            total += pair.getValue();
+        }
+        assertEquals(NUM_THREADS * perThread, total);
+        assertEquals(numKeys, calls.get());
+        assertEquals(numKeys, computed.size());
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testIteratorDuringUpdates() throws InterruptedException {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        final int stable = 10000;
+        // Each writer cycles through its own share of this many keys past the stable ones,
+        // removing every key right after putting it, so the table never grows without bound
+        final int churnKeys = 1000 * NUM_THREADS;
+        for (int i = 0; i < stable; i++) {
+            dict.put(i, i);
+        }
+        AtomicBoolean done = new AtomicBoolean(false);
+        runThreads(NUM_THREADS, thread -> {
+            if (thread == 0) {
+                try {
+                    iterateStableKeys(dict, stable);
+                } finally {
+                    // Stop the writers even if an assertion failed
+                    done.set(true);
+                }
+            } else {
+                int offset = thread;
+                while (!done.get()) {
+                    int key = stable + offset;
+                    dict.put(key, key);
+                    dict.remove(key);
+                    offset = (offset + NUM_THREADS) % churnKeys;
+                }
+            }
+        });
+        assertEquals(stable, dict.size());
+    }
+
+    /**
+     * Helper method that checks, over and over, that an iteration sees every stable key
+     * exactly once, whatever the writers do
+     */
+    private static void iterateStableKeys(IDictionary<Integer, Integer> dict, int stable) {
+        for (int round = 0; round < 20; round++) {
+            boolean[] seen = new boolean[stable];
+            for (KVPair<Integer, Integer> pair : dict) {
+                int key = pair.getKey();
+                if (key < stable) {
+                    assertFalse(seen[key]);
+                    seen[key] = true;
+                    assertEquals(key, pair.getValue());
+                }
+            }
+            for (boolean wasSeen : seen) {
+                assertTrue(wasSeen);
+            }
+        }
+    }
+
+    @Test(timeout=20*SECOND)
+    public void testContendedUpdatesAllLand() throws InterruptedException {
+        // The same mix of lookups and updates on a shared table runs with more and more
+        // threads, and every update must land. This only checks correctness: see
+        // misc.benchmarks.ConcurrentDictionaryBenchmark for timings
+        final int total = 1 << 21;
+        final int numKeys = 1 << 14;
+        for (int numThreads = 1; numThreads <= NUM_THREADS; numThreads *= 2) {
+            IDictionary<Integer, Integer> dict = this.newDictionary();
+            for (int key = 0; key < numKeys; key++) {
+                dict.put(key, 0);
+            }
+            final int perThread = total / numThreads;
+            runThreads(numThreads, thread -> {
+                int state = thread * 0x9e3779b9 + 1;
+                for (int i = 0; i < perThread; i++) {
+                    state ^= state << 13;
+                    state ^= state >>> 17;
+                    state ^= state << 5;
+                    int key = (state >>> 1) % numKeys;
+                    if ((i & 7) == 0) {
+                        dict.merge(key, 1, Integer::sum);
+                    } else {
+                        assertTrue(dict.containsKey(key));
+                    }
+                }
+            });
+            int updates = 0;
+            for (KVPair<Integer, Integer> pair : dict) {
+                updates += pair.getValue();
+            }
+            assertEquals(numKeys, dict.size());
+            assertEquals(numThreads * ((perThread + 7) / 8), updates);
+        }
+    }
+
+    /**
+     * Runs the body on the given number of threads (passing each its number), waits for all
+     * of them, and rethrows the first failure from any of them.
+     */
+    private static void runThreads(int numThreads, IntConsumer body) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            final int thread = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    body.accept(thread);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() instanceof Error) {
+            throw (Error) failure.get();
+        } else if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+}
@@ -506,4 +506,68 @@ public abstract class TestDictionary extends BaseTest {
             assertFalse(iter.hasNext());
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testPutIfAbsent() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        assertEquals(null, dict.putIfAbsent("a", 1));
+        assertEquals(1, dict.putIfAbsent("a", 2));
+        assertEquals(1, dict.get("a"));
+        assertEquals(null, dict.putIfAbsent(null, 3));
+        assertEquals(3, dict.putIfAbsent(null, 4));
+        assertEquals(2, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveIfPresent() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        assertFalse(dict.removeIfPresent(1));
+        assertFalse(dict.removeIfPresent(null));
+        for (int i = 0; i < 1000; i++) {
+            dict.put(i, i);
+        }
+        dict.put(null, -1);
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(dict.removeIfPresent(i));
+            assertFalse(dict.removeIfPresent(i));
+        }
+        assertTrue(dict.removeIfPresent(null));
+        assertFalse(dict.containsKey(null));
+        assertEquals(500, dict.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, dict.containsKey(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testComputeIfAbsent() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        assertEquals(3, dict.computeIfAbsent("abc", String::length));
+        assertEquals(3, dict.computeIfAbsent("abc", key -> {
+            fail();
+            return -1;
+        }));
+        try {
+            dict.computeIfAbsent("xyz", key -> {
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+        assertFalse(dict.containsKey("xyz"));
+        assertEquals(1, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testMergeCounts() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i / 5 + 1, dict.merge("key" + (i % 5), 1, Integer::sum));
+        }
+        assertEquals(5, dict.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(100, dict.get("key" + i));
+        }
+    }
 }
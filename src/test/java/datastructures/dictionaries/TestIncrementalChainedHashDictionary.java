@@ -0,0 +1,125 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.KVPair;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the ChainedHashDictionary tests against a dictionary that resizes incrementally. It
+ * starts out at the smallest table size so that most tests cross several resizes.
+ */
+public class TestIncrementalChainedHashDictionary extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ChainedHashDictionary<>(313, true);
+    }
+
+    @Test(timeout=SECOND)
+    public void testLookupsDuringMigration() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        // 219 entries fill the first table; every later put moves a few more old buckets
+        for (int i = 0; i < 260; i++) {
+            dict.put(i, i * 2);
+            for (int j = 0; j <= i; j += 13) {
+                assertEquals(j * 2, dict.get(j));
+            }
+            assertFalse(dict.containsKey(-i - 1));
+        }
+        assertEquals(260, dict.size());
+        for (int i = 0; i < 260; i += 2) {
+            assertEquals(i * 2, dict.remove(i));
+        }
+        assertEquals(130, dict.size());
+        for (int i = 0; i < 260; i++) {
+            assertEquals(i % 2 == 1 ? i * 2 : -1, dict.getOrDefault(i, -1));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIterateDuringMigration() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        // The put that crosses 219 entries starts a move that the next 20 puts do not finish,
+        // so the iterators below have to walk both tables
+        for (int i = 0; i < 240; i++) {
+            dict.put(i, i * 3);
+        }
+        for (int round = 0; round < 2; round++) {
+            boolean[] seen = new boolean[240];
+            int count = 0;
+            for (KVPair<Integer, Integer> pair : dict) {
+                int key = pair.getKey();
+                assertFalse(seen[key]);
+                seen[key] = true;
+                assertEquals(key * 3, pair.getValue());
+                count++;
+            }
+            assertEquals(240, count);
+        }
+        dict.put(240, 720);
+        assertEquals(241, dict.size());
+        assertEquals(720, dict.get(240));
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesHashMapAcrossResizes() {
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rand = new Random(48);
+        for (int i = 0; i < 200000; i++) {
+            int key = rand.nextInt(50000);
+            switch (rand.nextInt(4)) {
+                case 0:
+                    dict.put(key, i);
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    assertEquals(expected.merge(key, 1, Integer::sum), dict.merge(key, 1, Integer::sum));
+                    break;
+                case 2:
+                    try {
+                        assertEquals(expected.remove(key), dict.remove(key));
+                    } catch (NoSuchKeyException e) {
+                        assertFalse(expected.containsKey(key));
+                    }
+                    break;
+                default:
+                    assertEquals(expected.get(key), dict.getOrDefault(key, null));
+                    break;
+            }
+            assertEquals(expected.size(), dict.size());
+        }
+
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertEquals(expected.get(pair.getKey()), pair.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveMissingKeyDuringMigration() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 230; i++) {
+            dict.put("key" + i, i);
+        }
+        try {
+            dict.remove("missing");
+            fail();
+        } catch (NoSuchKeyException e) {
+            // All ok -- expected result
+        }
+        assertEquals(230, dict.size());
+        assertTrue(dict.containsKey("key229"));
+    }
+}
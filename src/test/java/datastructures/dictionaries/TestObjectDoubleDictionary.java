@@ -0,0 +1,233 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ObjectDoubleDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestObjectDoubleDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testBasicOperations() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        assertTrue(dict.isEmpty());
+        dict.put("a", 1.5);
+        dict.put("b", -2.0);
+        dict.put("a", 0.25);
+        assertEquals(2, dict.size());
+        assertEquals(0.25, dict.get("a"), 0.0);
+        assertEquals(-2.0, dict.get("b"), 0.0);
+        assertFalse(dict.containsKey("c"));
+
+        assertFalse(dict.putIfAbsent("b", 9.0));
+        assertTrue(dict.putIfAbsent("c", 9.0));
+        assertEquals(-2.0, dict.get("b"), 0.0);
+        assertEquals(9.0, dict.get("c"), 0.0);
+
+        assertEquals(0.5, dict.addTo("d", 0.5), 0.0);
+        assertEquals(2.0, dict.addTo("d", 1.5), 0.0);
+        assertEquals(0.25, dict.remove("a"), 0.0);
+        assertFalse(dict.containsKey("a"));
+        assertEquals(3, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingKeyDefaults() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        assertEquals(Double.POSITIVE_INFINITY, dict.getOrDefault("a", Double.POSITIVE_INFINITY), 0.0);
+        dict.put("a", 3.0);
+        assertEquals(3.0, dict.getOrDefault("a", Double.POSITIVE_INFINITY), 0.0);
+        assertEquals(-1.0, dict.getOrDefault("b", -1.0), 0.0);
+        assertTrue(Double.isNaN(dict.getOrDefault("b", Double.NaN)));
+        assertEquals(0.0, dict.getOrDefault(null, 0.0), 0.0);
+
+        // Looking keys up must not add them
+        assertEquals(1, dict.size());
+        dict.remove("a");
+        assertEquals(7.0, dict.getOrDefault("a", 7.0), 0.0);
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testSpecialValuesAreStoredExactly() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        assertTrue(dict.putIfAbsent("nan", Double.NaN));
+        assertTrue(Double.isNaN(dict.get("nan")));
+        assertTrue(Double.isNaN(dict.addTo("nan", 1.0)));
+        assertFalse(dict.putIfAbsent("nan", 1.0));
+        assertTrue(Double.isNaN(dict.remove("nan")));
+        assertFalse(dict.containsKey("nan"));
+
+        dict.put("negativeZero", -0.0);
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(dict.get("negativeZero")));
+        dict.put("infinity", Double.NEGATIVE_INFINITY);
+        assertEquals(Double.NEGATIVE_INFINITY, dict.get("infinity"), 0.0);
+        dict.put("tiny", Double.MIN_VALUE);
+        assertEquals(Double.MIN_VALUE, dict.get("tiny"), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, dict.addTo("big", Double.MAX_VALUE) * 2, 0.0);
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullKeyAndCollisions() {
+        ObjectDoubleDictionary<Wrapper<String>> dict = new ObjectDoubleDictionary<>();
+        for (int i = 0; i < 500; i++) {
+            dict.put(new Wrapper<>("" + i, 0), i / 2.0);
+        }
+        dict.put(new Wrapper<>(null, 0), -5.5);
+        assertEquals(501, dict.size());
+        for (int i = 0; i < 500; i += 3) {
+            assertEquals(i / 2.0, dict.remove(new Wrapper<>("" + i, 0)), 0.0);
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 3 == 0 ? -1.0 : i / 2.0, dict.getOrDefault(new Wrapper<>("" + i, 0), -1.0), 0.0);
+        }
+        assertEquals(-5.5, dict.get(new Wrapper<>(null, 0)), 0.0);
+
+        ObjectDoubleDictionary<String> nulls = new ObjectDoubleDictionary<>();
+        nulls.put(null, 4.5);
+        assertEquals(4.5, nulls.get(null), 0.0);
+        assertEquals(4.5, nulls.remove(null), 0.0);
+        assertTrue(nulls.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testResizeKeepsValues() {
+        // Starting with no room forces the entries and the slot table through many resizes
+        ObjectDoubleDictionary<Integer> dict = new ObjectDoubleDictionary<>(0);
+        for (int i = 0; i < 50000; i++) {
+            dict.put(i, i * 0.5);
+        }
+        assertEquals(50000, dict.size());
+        for (int i = 0; i < 50000; i++) {
+            assertEquals(i * 0.5, dict.get(i), 0.0);
+        }
+        assertFalse(dict.containsKey(50000));
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemovedEntriesAreReused() {
+        // Every key collides, so each removal has to repair a single long probe sequence
+        ObjectDoubleDictionary<Wrapper<Integer>> dict = new ObjectDoubleDictionary<>(50);
+        for (int i = 0; i < 50; i++) {
+            dict.put(new Wrapper<>(i, 7), i);
+        }
+        Random rand = new Random(49);
+        double[] expected = new double[50];
+        for (int i = 0; i < 50; i++) {
+            expected[i] = i;
+        }
+        for (int round = 0; round < 20000; round++) {
+            int key = rand.nextInt(50);
+            assertEquals(expected[key], dict.remove(new Wrapper<>(key, 7)), 0.0);
+            assertFalse(dict.containsKey(new Wrapper<>(key, 7)));
+            expected[key] = round + 0.5;
+            assertTrue(dict.putIfAbsent(new Wrapper<>(key, 7), expected[key]));
+            assertEquals(50, dict.size());
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(expected[i], dict.get(new Wrapper<>(i, 7)), 0.0);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEntriesStayPacked() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>(2);
+        for (int i = 0; i < 100; i++) {
+            dict.put("key" + i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            dict.remove("key" + i);
+        }
+        double sum = 0;
+        for (int i = 0; i < dict.size(); i++) {
+            assertEquals(dict.valueAt(i), dict.get(dict.keyAt(i)), 0.0);
+            sum += dict.valueAt(i);
+        }
+        assertEquals(2500.0, sum, 0.0);
+        try {
+            dict.valueAt(dict.size());
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            // All ok -- expected result
+        }
+        dict.clear();
+        assertEquals(0, dict.size());
+        assertFalse(dict.containsKey("key1"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testAccumulatesWeights() {
+        ObjectDoubleDictionary<Integer> dict = new ObjectDoubleDictionary<>();
+        for (int i = 0; i < 10000; i++) {
+            dict.addTo(i % 100, 0.5);
+        }
+        assertEquals(100, dict.size());
+        for (int i = 0; i < dict.size(); i++) {
+            assertEquals(50.0, dict.valueAt(i), 0.0);
+            assertEquals(50.0, dict.get(dict.keyAt(i)), 0.0);
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingKeyThrows() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        dict.put("a", 1.0);
+        try {
+            dict.get("b");
+            Assert.fail();
+        } catch (NoSuchKeyException e) {
+            // All ok -- expected result
+        }
+        try {
+            dict.remove("b");
+            Assert.fail();
+        } catch (NoSuchKeyException e) {
+            // All ok -- expected result
+        }
+        assertEquals(1, dict.size());
+        try {
+            new ObjectDoubleDictionary<String>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesHashMap() {
+        ObjectDoubleDictionary<Integer> dict = new ObjectDoubleDictionary<>();
+        Map<Integer, Double> expected = new HashMap<>();
+        Random rand = new Random(49);
+        for (int i = 0; i < 200000; i++) {
+            // Multiples of 1024 collide in the low bits before mixing
+            int key = rand.nextInt(20000) * (i % 2 == 0 ? 1 : 1024);
+            switch (rand.nextInt(4)) {
+                case 0:
+                    dict.put(key, i * 0.25);
+                    expected.put(key, i * 0.25);
+                    break;
+                case 1:
+                    if (expected.containsKey(key)) {
+                        assertEquals(expected.remove(key), dict.remove(key), 0.0);
+                    } else {
+                        assertFalse(dict.containsKey(key));
+                    }
+                    break;
+                case 2:
+                    assertEquals(expected.merge(key, 1.5, Double::sum), dict.addTo(key, 1.5), 0.0);
+                    break;
+                default:
+                    assertEquals(expected.getOrDefault(key, -1.0), dict.getOrDefault(key, -1.0), 0.0);
+                    break;
+            }
+        }
+        assertEquals(expected.size(), dict.size());
+    }
+}
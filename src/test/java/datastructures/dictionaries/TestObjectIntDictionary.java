@@ -0,0 +1,142 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestObjectIntDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testBasicOperations() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        assertTrue(dict.isEmpty());
+        dict.put("a", 1);
+        dict.put("b", 2);
+        dict.put("a", 3);
+        assertEquals(2, dict.size());
+        assertEquals(3, dict.get("a"));
+        assertEquals(2, dict.get("b"));
+        assertEquals(-1, dict.getOrDefault("c", -1));
+        assertFalse(dict.containsKey("c"));
+
+        assertFalse(dict.putIfAbsent("b", 7));
+        assertTrue(dict.putIfAbsent("c", 7));
+        assertEquals(2, dict.get("b"));
+        assertEquals(7, dict.get("c"));
+
+        assertEquals(5, dict.addTo("d", 5));
+        assertEquals(8, dict.addTo("d", 3));
+        assertEquals(3, dict.remove("a"));
+        assertFalse(dict.containsKey("a"));
+        assertEquals(3, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullKeyAndCollisions() {
+        ObjectIntDictionary<Wrapper<String>> dict = new ObjectIntDictionary<>();
+        for (int i = 0; i < 500; i++) {
+            dict.put(new Wrapper<>("" + i, 0), i);
+        }
+        dict.put(new Wrapper<>(null, 0), -5);
+        assertEquals(501, dict.size());
+        for (int i = 0; i < 500; i += 3) {
+            assertEquals(i, dict.remove(new Wrapper<>("" + i, 0)));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 3 == 0 ? -1 : i, dict.getOrDefault(new Wrapper<>("" + i, 0), -1));
+        }
+        assertEquals(-5, dict.get(new Wrapper<>(null, 0)));
+
+        ObjectIntDictionary<String> nulls = new ObjectIntDictionary<>();
+        nulls.put(null, 4);
+        assertEquals(4, nulls.get(null));
+        assertEquals(4, nulls.remove(null));
+        assertTrue(nulls.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testEntriesStayPacked() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>(2);
+        for (int i = 0; i < 100; i++) {
+            dict.put("key" + i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            dict.remove("key" + i);
+        }
+        int sum = 0;
+        for (int i = 0; i < dict.size(); i++) {
+            assertEquals(dict.valueAt(i), dict.get(dict.keyAt(i)));
+            sum += dict.valueAt(i);
+        }
+        assertEquals(2500, sum);
+        try {
+            dict.keyAt(dict.size());
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+            // All ok -- expected result
+        }
+        dict.clear();
+        assertEquals(0, dict.size());
+        assertFalse(dict.containsKey("key1"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingKeyThrows() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        dict.put("a", 1);
+        try {
+            dict.get("b");
+            Assert.fail();
+        } catch (NoSuchKeyException e) {
+            // All ok -- expected result
+        }
+        try {
+            dict.remove("b");
+            Assert.fail();
+        } catch (NoSuchKeyException e) {
+            // All ok -- expected result
+        }
+        try {
+            new ObjectIntDictionary<String>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMatchesHashMap() {
+        ObjectIntDictionary<Integer> dict = new ObjectIntDictionary<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random rand = new Random(49);
+        for (int i = 0; i < 200000; i++) {
+            // Multiples of 1024 collide in the low bits before mixing
+            int key = rand.nextInt(20000) * (i % 2 == 0 ? 1 : 1024);
+            switch (rand.nextInt(3)) {
+                case 0:
+                    dict.put(key, i);
+                    expected.put(key, i);
+                    break;
+                case 1:
+                    if (expected.containsKey(key)) {
+                        assertEquals((int) expected.remove(key), dict.remove(key));
+                    } else {
+                        assertFalse(dict.containsKey(key));
+                    }
+                    break;
+                default:
+                    assertEquals((int) expected.getOrDefault(key, -1), dict.getOrDefault(key, -1));
+                    break;
+            }
+        }
+        assertEquals(expected.size(), dict.size());
+    }
+}
@@ -0,0 +1,91 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.RobinHoodHashDictionary;
+import datastructures.interfaces.IDictionary;
+import mazes.entities.LineSegment;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import org.junit.Test;
+
+import java.awt.Point;
+import java.awt.Polygon;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the ChainedHashDictionary tests (including the shared dictionary tests) against
+ * RobinHoodHashDictionary, plus a side-by-side run on the maze's own key types.
+ */
+public class TestRobinHoodHashDictionary extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new RobinHoodHashDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveShiftsClusterBack() {
+        IDictionary<Wrapper<String>, Integer> dict = this.newDictionary();
+        // Two interleaved clusters: removing from the middle must not lose anything behind it
+        for (int i = 0; i < 200; i++) {
+            dict.put(new Wrapper<>("a" + i, 1), i);
+            dict.put(new Wrapper<>("b" + i, 2), -i);
+        }
+        for (int i = 0; i < 200; i += 2) {
+            assertEquals(i, dict.remove(new Wrapper<>("a" + i, 1)));
+        }
+        assertEquals(300, dict.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 2 == 1, dict.containsKey(new Wrapper<>("a" + i, 1)));
+            assertEquals(-i, dict.get(new Wrapper<>("b" + i, 2)));
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testMatchesChainedOnMazeKeys() {
+        // The same grid of rooms, walls, and points goes through both dictionaries, which
+        // must agree on every lookup. This only checks correctness: see
+        // misc.benchmarks.HashDictionaryBenchmark for timings
+        int side = 300;
+        IDictionary<Point, Integer> chainedPoints = new ChainedHashDictionary<>();
+        IDictionary<Point, Integer> probingPoints = new RobinHoodHashDictionary<>();
+        IDictionary<Room, Integer> chainedRooms = new ChainedHashDictionary<>();
+        IDictionary<Room, Integer> probingRooms = new RobinHoodHashDictionary<>();
+        IDictionary<Wall, Integer> chainedWalls = new ChainedHashDictionary<>();
+        IDictionary<Wall, Integer> probingWalls = new RobinHoodHashDictionary<>();
+
+        Room[] rooms = new Room[side * side];
+        for (int i = 0; i < rooms.length; i++) {
+            Point center = new Point(i % side * 10, i / side * 10);
+            rooms[i] = new Room(center, new Polygon());
+            chainedPoints.put(center, i);
+            probingPoints.put(center, i);
+            chainedRooms.put(rooms[i], i);
+            probingRooms.put(rooms[i], i);
+        }
+        for (int i = 0; i + 1 < rooms.length; i++) {
+            Wall wall = new Wall(rooms[i], rooms[i + 1],
+                    new LineSegment(rooms[i].getCenter(), rooms[i + 1].getCenter()));
+            chainedWalls.put(wall, i);
+            probingWalls.put(wall, i);
+        }
+
+        assertEquals(chainedPoints.size(), probingPoints.size());
+        assertEquals(chainedRooms.size(), probingRooms.size());
+        assertEquals(chainedWalls.size(), probingWalls.size());
+        for (int i = 0; i < rooms.length; i++) {
+            Point center = new Point(i % side * 10, i / side * 10);
+            assertEquals(chainedPoints.get(center), probingPoints.get(center));
+            assertEquals(chainedRooms.get(rooms[i]), probingRooms.get(rooms[i]));
+            assertFalse(probingPoints.containsKey(new Point(center.x + 1, center.y)));
+        }
+        for (int i = 0; i + 1 < rooms.length; i += 7) {
+            Wall wall = new Wall(rooms[i], rooms[i + 1],
+                    new LineSegment(rooms[i].getCenter(), rooms[i + 1].getCenter()));
+            assertTrue(probingWalls.containsKey(wall));
+            assertEquals(chainedWalls.remove(wall), probingWalls.remove(wall));
+        }
+        assertEquals(chainedWalls.size(), probingWalls.size());
+    }
+}
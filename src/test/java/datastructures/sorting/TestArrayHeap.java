@@ -0,0 +1,203 @@
+package datastructures.sorting;
+
+import misc.BaseTest;
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.PairingHeap;
+import datastructures.interfaces.IList;
+import datastructures.interfaces.IPriorityQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the operations only ArrayHeap supports. The IPriorityQueue tests it shares with
+ * the other heaps live in TestArrayHeapFunctionality.
+ */
+public class TestArrayHeap extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testBulkConstructionAndDrain() {
+        IList<Integer> list = new DoubleLinkedList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000);
+        }
+        ArrayHeap<Integer> heap = new ArrayHeap<>(list);
+        assertEquals(1000, heap.size());
+        assertEquals(0, heap.peekMin());
+
+        IList<Integer> more = new DoubleLinkedList<>();
+        more.add(-5);
+        more.add(2000);
+        heap.insertAll(more);
+        assertEquals(-5, heap.removeMin());
+
+        Integer[] sorted = heap.drainSorted(new Integer[0]);
+        Assert.assertTrue(heap.isEmpty());
+        assertEquals(1001, sorted.length);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, sorted[i]);
+        }
+        assertEquals(2000, sorted[1000]);
+    }
+
+    @Test(timeout=SECOND)
+    public void testBulkConstructionRejectsNull() {
+        IList<Integer> list = new DoubleLinkedList<>();
+        list.add(1);
+        list.add(null);
+        try {
+            new ArrayHeap<>(list);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEveryArity() {
+        for (int arity = 2; arity <= 16; arity *= 2) {
+            ArrayHeap<Integer> heap = new ArrayHeap<>(0, arity);
+            assertEquals(arity, heap.getArity());
+            for (int i = 0; i < 5000; i++) {
+                heap.insert((i * 7919) % 5000);
+            }
+            for (int i = 0; i < 2500; i++) {
+                assertEquals(i, heap.removeMin());
+            }
+            Integer[] rest = heap.drainSorted(new Integer[2500]);
+            for (int i = 0; i < 2500; i++) {
+                assertEquals(2500 + i, rest[i]);
+            }
+        }
+        try {
+            new ArrayHeap<Integer>(10, 3);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testShrinksAfterEmptying() {
+        ArrayHeap<Integer> heap = new ArrayHeap<>(16);
+        assertEquals(16, heap.getCapacity());
+        for (int i = 0; i < 100000; i++) {
+            heap.insert(i);
+        }
+        Assert.assertTrue(heap.getCapacity() >= 100000);
+        for (int i = 0; i < 99990; i++) {
+            assertEquals(i, heap.removeMin());
+        }
+        Assert.assertTrue(heap.getCapacity() <= 4 * 10 * 2);
+        Assert.assertTrue(heap.getCapacity() >= 16);
+        for (int i = 99990; i < 100000; i++) {
+            assertEquals(i, heap.removeMin());
+        }
+        assertEquals(16, heap.getCapacity());
+
+        heap.setShrinkPolicy(0, 0);
+        for (int i = 0; i < 1000; i++) {
+            heap.insert(i);
+        }
+        int grown = heap.getCapacity();
+        heap.drainSorted(new Integer[1000]);
+        assertEquals(grown, heap.getCapacity());
+        heap.trimToSize();
+        assertEquals(0, heap.getCapacity());
+        heap.insert(5);
+        assertEquals(5, heap.removeMin());
+
+        try {
+            heap.setShrinkPolicy(2, 16);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMeld() {
+        ArrayHeap<Integer> heap = new ArrayHeap<>(0, 8);
+        ArrayHeap<Integer> evens = new ArrayHeap<>(0, 2);
+        IPriorityQueue<Integer> few = new PairingHeap<>();
+        for (int i = 0; i < 3000; i++) {
+            if (i % 2 == 0) {
+                evens.insert(i);
+            } else if (i % 301 == 0) {
+                few.insert(i);
+            } else {
+                heap.insert(i);
+            }
+        }
+        heap.meld(evens);
+        Assert.assertTrue(evens.isEmpty());
+        heap.meld(few);
+        Assert.assertTrue(few.isEmpty());
+        assertEquals(3000, heap.size());
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(i, heap.removeMin());
+        }
+
+        evens.insert(1);
+        heap.meld(evens);
+        assertEquals(1, heap.peekMin());
+        try {
+            heap.meld(heap);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testLargeHeapShrinksAfterEmptying() {
+        IList<Integer> list = new DoubleLinkedList<>();
+        for (int i = 0; i < 200000; i++) {
+            list.add(200000 - i);
+        }
+        ArrayHeap<Integer> built = new ArrayHeap<>(list);
+        Assert.assertTrue(built.getCapacity() >= 200000);
+        Integer[] sorted = built.drainSorted(new Integer[200000]);
+        assertEquals(1, sorted[0]);
+        Assert.assertTrue(built.getCapacity() <= 1024);
+
+        ArrayHeap<Integer> presized = new ArrayHeap<>(1000000);
+        for (int i = 0; i < 10; i++) {
+            presized.insert(i);
+        }
+        assertEquals(0, presized.removeMin());
+        Assert.assertTrue(presized.getCapacity() <= 1024);
+        for (int i = 1; i < 10; i++) {
+            assertEquals(i, presized.removeMin());
+        }
+
+        // A floor set through the shrink policy is still honored
+        presized.setShrinkPolicy(4, 100000);
+        for (int i = 0; i < 200000; i++) {
+            presized.insert(i);
+        }
+        while (!presized.isEmpty()) {
+            presized.removeMin();
+        }
+        assertEquals(100000, presized.getCapacity());
+    }
+
+    @Test(timeout=SECOND)
+    public void testReserveAllocatesExactly() {
+        ArrayHeap<Integer> heap = new ArrayHeap<>(10);
+        heap.reserve(5);
+        assertEquals(10, heap.getCapacity());
+        heap.reserve(37);
+        assertEquals(37, heap.getCapacity());
+        for (int i = 37; i > 0; i--) {
+            heap.insert(i);
+        }
+        assertEquals(37, heap.getCapacity());
+        assertEquals(1, heap.peekMin());
+        try {
+            heap.reserve(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -133,4 +133,4 @@ public class TestArrayHeapFunctionality extends BaseTest {
             Assert.assertNotEquals(e, null);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package datastructures.sorting;
+
+import datastructures.concrete.IndexedArrayHeap;
+import datastructures.interfaces.IPriorityQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Runs the ArrayHeap tests against IndexedArrayHeap, plus the operations only it supports.
+ */
+public class TestIndexedArrayHeap extends TestArrayHeapFunctionality {
+    @Override
+    protected <T extends Comparable<T>> IPriorityQueue<T> makeInstance() {
+        return new IndexedArrayHeap<>();
+    }
+
+    /**
+     * A key paired with a priority; two entries are equal if their keys are equal.
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final String key;
+        private final int priority;
+
+        Entry(String key, int priority) {
+            this.key = key;
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Integer.compare(this.priority, other.priority);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Entry && ((Entry) o).key.equals(this.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
+
+    @Override
+    @Test(timeout=SECOND)
+    public void testRemoveLikeValues() {
+        IndexedArrayHeap<Integer> heap = new IndexedArrayHeap<>();
+        heap.insert(1);
+        try {
+            heap.insert(1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, heap.size());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKey() {
+        IndexedArrayHeap<Entry> heap = new IndexedArrayHeap<>();
+        for (int i = 0; i < 100; i++) {
+            heap.insert(new Entry("" + i, i + 10));
+        }
+        heap.decreaseKey(new Entry("50", 0));
+        heap.decreaseKey(new Entry("75", 5));
+        assertEquals(100, heap.size());
+        assertEquals("50", heap.removeMin().key);
+        assertEquals("75", heap.removeMin().key);
+        assertEquals("0", heap.removeMin().key);
+
+        try {
+            heap.decreaseKey(new Entry("1", 100));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+        try {
+            heap.decreaseKey(new Entry("50", 0));
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveAndContains() {
+        IndexedArrayHeap<Integer> heap = new IndexedArrayHeap<>();
+        for (int i = 0; i < 500; i++) {
+            heap.insert(i);
+        }
+        for (int i = 0; i < 500; i += 3) {
+            Assert.assertTrue(heap.contains(i));
+            heap.remove(i);
+            Assert.assertFalse(heap.contains(i));
+        }
+        for (int i = 0; i < 500; i++) {
+            if (i % 3 != 0) {
+                assertEquals(i, heap.removeMin());
+            }
+        }
+        Assert.assertTrue(heap.isEmpty());
+
+        try {
+            heap.remove(3);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package datastructures.sorting;
+
+import datastructures.concrete.IntDoubleHeap;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class TestIntDoubleHeap extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testOrderAndKeys() {
+        IntDoubleHeap heap = new IntDoubleHeap(100);
+        for (int i = 99; i >= 0; i--) {
+            heap.insert(i, i * 0.5);
+            assertEquals(i, heap.peekMin());
+        }
+        assertEquals(100, heap.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * 0.5, heap.peekMinKey(), 0.0);
+            assertEquals(i, heap.removeMin());
+        }
+        Assert.assertTrue(heap.isEmpty());
+        try {
+            heap.removeMin();
+            Assert.fail();
+        } catch (EmptyContainerException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKeyAndRemove() {
+        IntDoubleHeap heap = new IntDoubleHeap(10);
+        for (int i = 0; i < 10; i++) {
+            heap.insert(i, 10 + i);
+        }
+        heap.decreaseKey(7, 1.0);
+        assertEquals(1.0, heap.keyOf(7), 0.0);
+        heap.remove(0);
+        Assert.assertFalse(heap.contains(0));
+        assertEquals(7, heap.removeMin());
+        assertEquals(1, heap.removeMin());
+
+        try {
+            heap.decreaseKey(2, 100.0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+        try {
+            heap.remove(7);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+        try {
+            heap.insert(2, 0.0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+        heap.insert(2, 0.0);
+        assertEquals(2, heap.removeMin());
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testRandomAgainstSortedKeys() {
+        int n = 200000;
+        Random rand = new Random(312);
+        IntDoubleHeap heap = new IntDoubleHeap(n);
+        for (int i = 0; i < n; i++) {
+            heap.insert(i, rand.nextDouble());
+        }
+        for (int i = 0; i < n; i += 2) {
+            heap.decreaseKey(i, heap.keyOf(i) / 2);
+        }
+        double previous = -1;
+        while (!heap.isEmpty()) {
+            double key = heap.peekMinKey();
+            Assert.assertTrue(key >= previous);
+            previous = key;
+            heap.removeMin();
+        }
+    }
+}
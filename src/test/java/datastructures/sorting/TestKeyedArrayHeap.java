@@ -0,0 +1,90 @@
+package datastructures.sorting;
+
+import datastructures.concrete.KeyedArrayHeap;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestKeyedArrayHeap extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testOrdersByKey() {
+        // Strings ordered by length instead of alphabetically
+        KeyedArrayHeap<String> heap = new KeyedArrayHeap<>(String::length, 0);
+        StringBuilder builder = new StringBuilder();
+        String[] words = new String[2000];
+        for (int i = 0; i < 2000; i++) {
+            builder.append('a');
+            words[i] = builder.toString();
+        }
+        for (int i = 0; i < 2000; i++) {
+            heap.insert(words[(i * 7919) % 2000]);
+        }
+        assertEquals(2000, heap.size());
+        assertEquals(1.0, heap.peekMinKey(), 0.0);
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(words[i], heap.removeMin());
+        }
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testDuplicateAndNegativeKeys() {
+        KeyedArrayHeap<Double> heap = new KeyedArrayHeap<>(Double::doubleValue);
+        for (int i = 0; i < 500; i++) {
+            heap.insert((double) (i % 50) - 25);
+        }
+        double previous = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < 500; i++) {
+            double next = heap.removeMin();
+            Assert.assertTrue(next >= previous);
+            previous = next;
+        }
+        heap.insert(3.0);
+        heap.clear();
+        Assert.assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyAndNull() {
+        KeyedArrayHeap<String> heap = new KeyedArrayHeap<>(String::length);
+        try {
+            heap.removeMin();
+            Assert.fail();
+        } catch (EmptyContainerException e) {
+            // All ok -- expected result
+        }
+        try {
+            heap.peekMinKey();
+            Assert.fail();
+        } catch (EmptyContainerException e) {
+            // All ok -- expected result
+        }
+        try {
+            heap.insert(null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testOfferKeepsLargest() {
+        KeyedArrayHeap<Integer> heap = new KeyedArrayHeap<>(i -> i, 0);
+        for (int i = 0; i < 1000; i++) {
+            heap.offer((i * 7919) % 1000, 10);
+        }
+        assertEquals(10, heap.size());
+        Assert.assertFalse(heap.offer(5, 10));
+        Assert.assertTrue(heap.offer(995, 10));
+        assertEquals(10, heap.size());
+        for (int i = 991; i < 1000; i++) {
+            assertEquals(i, heap.removeMin());
+            if (i == 995) {
+                assertEquals(995, heap.removeMin());
+            }
+        }
+        Assert.assertTrue(heap.isEmpty());
+        Assert.assertFalse(heap.offer(1, 0));
+    }
+}
@@ -0,0 +1,116 @@
+package datastructures.sorting;
+
+import datastructures.concrete.MultiQueue;
+import datastructures.interfaces.IPriorityQueue;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class TestMultiQueue extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testEveryElementComesOutOnce() {
+        IPriorityQueue<Integer> queue = new MultiQueue<>(4, 2);
+        for (int i = 0; i < 1000; i++) {
+            queue.insert(i);
+        }
+        assertEquals(1000, queue.size());
+        assertEquals(0, queue.peekMin());
+
+        boolean[] seen = new boolean[1000];
+        for (int i = 0; i < 1000; i++) {
+            int value = queue.removeMin();
+            Assert.assertFalse(seen[value]);
+            seen[value] = true;
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveMinIsRoughlyOrdered() {
+        IPriorityQueue<Integer> queue = new MultiQueue<>(1, 2);
+        for (int i = 999; i >= 0; i--) {
+            queue.insert(i);
+        }
+        // Every removal takes the smaller of two heap tops, so on average it is near the front
+        long totalRank = 0;
+        int removed = 0;
+        boolean[] seen = new boolean[1000];
+        for (int i = 0; i < 500; i++) {
+            int value = queue.removeMin();
+            seen[value] = true;
+            int rank = 0;
+            for (int j = 0; j < value; j++) {
+                if (!seen[j]) {
+                    rank++;
+                }
+            }
+            totalRank += rank;
+            removed++;
+        }
+        Assert.assertTrue(totalRank / removed < 10);
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyAndNull() {
+        IPriorityQueue<Integer> queue = new MultiQueue<>();
+        try {
+            queue.removeMin();
+            Assert.fail();
+        } catch (EmptyContainerException e) {
+            // All ok -- expected result
+        }
+        try {
+            queue.peekMin();
+            Assert.fail();
+        } catch (EmptyContainerException e) {
+            // All ok -- expected result
+        }
+        try {
+            queue.insert(null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+        try {
+            new MultiQueue<Integer>(0, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testConcurrentInsertAndRemove() throws InterruptedException {
+        final int numThreads = 4;
+        final int perThread = 20000;
+        MultiQueue<Integer> queue = new MultiQueue<>(numThreads, 2);
+        AtomicIntegerArray seen = new AtomicIntegerArray(numThreads * perThread);
+
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            final int offset = t * perThread;
+            threads[t] = new Thread(() -> {
+                // Each thread inserts its own values and removes as many as it inserted
+                for (int i = 0; i < perThread; i++) {
+                    queue.insert(offset + i);
+                    if (i % 2 == 1) {
+                        seen.incrementAndGet(queue.removeMin());
+                        seen.incrementAndGet(queue.removeMin());
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertTrue(queue.isEmpty());
+        for (int i = 0; i < seen.length(); i++) {
+            assertEquals(1, seen.get(i));
+        }
+    }
+}
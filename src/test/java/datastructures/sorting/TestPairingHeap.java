@@ -0,0 +1,191 @@
+package datastructures.sorting;
+
+import datastructures.concrete.PairingHeap;
+import datastructures.interfaces.IPriorityQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Runs the ArrayHeap tests against PairingHeap, plus the operations only it supports.
+ */
+public class TestPairingHeap extends TestArrayHeapFunctionality {
+    @Override
+    protected <T extends Comparable<T>> IPriorityQueue<T> makeInstance() {
+        return new PairingHeap<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveByValue() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        for (int i = 0; i < 300; i++) {
+            heap.insert(i);
+        }
+        for (int i = 0; i < 300; i += 2) {
+            heap.remove(i);
+        }
+        for (int i = 1; i < 300; i += 2) {
+            assertEquals(i, heap.removeMin());
+        }
+        try {
+            heap.remove(5);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKey() {
+        PairingHeap<Integer> heap = new PairingHeap<>();
+        @SuppressWarnings("unchecked")
+        PairingHeap.Node<Integer>[] nodes = new PairingHeap.Node[100];
+        for (int i = 0; i < 100; i++) {
+            nodes[i] = heap.addWithHandle(i + 100);
+        }
+        heap.removeMin();
+        heap.decreaseKey(nodes[50], 5);
+        heap.decreaseKey(nodes[75], 2);
+        heap.decreaseKey(nodes[99], 199);
+        assertEquals(99, heap.size());
+        assertEquals(2, heap.removeMin());
+        assertEquals(5, heap.removeMin());
+        assertEquals(101, heap.removeMin());
+
+        try {
+            heap.decreaseKey(nodes[10], 500);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+        try {
+            heap.decreaseKey(nodes[50], 0);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+        Assert.assertFalse(nodes[50].isInHeap());
+        assertEquals(5, nodes[50].getValue());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveByHandle() {
+        PairingHeap<Integer> heap = new PairingHeap<>();
+        @SuppressWarnings("unchecked")
+        PairingHeap.Node<Integer>[] nodes = new PairingHeap.Node[500];
+        for (int i = 0; i < 500; i++) {
+            nodes[(i * 7) % 500] = heap.addWithHandle((i * 7) % 500);
+        }
+        heap.removeMin();
+        for (int i = 1; i < 500; i += 3) {
+            heap.remove(nodes[i]);
+            Assert.assertFalse(nodes[i].isInHeap());
+        }
+        for (int i = 2; i < 500; i++) {
+            if (i % 3 != 1) {
+                assertEquals(i, heap.removeMin());
+            }
+        }
+        Assert.assertTrue(heap.isEmpty());
+
+        try {
+            heap.remove(nodes[1]);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMeld() {
+        PairingHeap<Integer> evens = new PairingHeap<>();
+        PairingHeap<Integer> odds = new PairingHeap<>();
+        PairingHeap.Node<Integer> handle = null;
+        for (int i = 0; i < 200; i++) {
+            if (i % 2 == 0) {
+                evens.insert(i);
+            } else if (i == 151) {
+                handle = odds.addWithHandle(i);
+            } else {
+                odds.insert(i);
+            }
+        }
+        evens.meld(odds);
+        assertEquals(200, evens.size());
+        Assert.assertTrue(odds.isEmpty());
+
+        evens.decreaseKey(handle, -1);
+        assertEquals(-1, evens.removeMin());
+        for (int i = 0; i < 200; i++) {
+            if (i != 151) {
+                assertEquals(i, evens.removeMin());
+            }
+        }
+
+        try {
+            evens.meld(evens);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testReuseAfterDraining() {
+        PairingHeap<Integer> heap = new PairingHeap<>(16);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 100; i > 0; i--) {
+                heap.insert(i);
+            }
+            for (int i = 1; i <= 100; i++) {
+                assertEquals(i, heap.removeMin());
+            }
+            Assert.assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsForeignHandles() {
+        PairingHeap<Integer> first = new PairingHeap<>();
+        PairingHeap<Integer> second = new PairingHeap<>();
+        PairingHeap<Integer> third = new PairingHeap<>();
+        PairingHeap.Node<Integer> handle = first.addWithHandle(10);
+        second.insert(20);
+        try {
+            second.decreaseKey(handle, 5);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+        try {
+            second.remove(handle);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+        assertEquals(1, second.size());
+        assertEquals(10, handle.getValue());
+
+        // After two melds the handle belongs to the last heap only
+        second.meld(first);
+        third.meld(second);
+        first.insert(30);
+        try {
+            first.decreaseKey(handle, 5);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+        try {
+            second.remove(handle);
+            Assert.fail();
+        } catch (NoSuchElementException e) {
+            // All ok -- expected result
+        }
+        third.decreaseKey(handle, 5);
+        assertEquals(5, third.removeMin());
+        assertEquals(20, third.removeMin());
+        Assert.assertTrue(third.isEmpty());
+    }
+}
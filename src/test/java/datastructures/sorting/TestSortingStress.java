@@ -2,12 +2,16 @@ package datastructures.sorting;
 
 import datastructures.concrete.ArrayHeap;
 import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.MultiQueue;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import misc.BaseTest;
 import misc.Searcher;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -67,4 +71,45 @@ public class TestSortingStress extends BaseTest {
             assertEquals(val, count++);
         }
     }
-}
\ No newline at end of file
+
+    @Test(timeout=20*SECOND)
+    public void testMultiQueueDrainsWithManyThreads() throws InterruptedException {
+        // Pushes the same total work through the queue with more and more threads; every
+        // element must still come out exactly once. This only checks correctness: see
+        // misc.benchmarks.MultiQueueBenchmark for timings
+        final int total = 1 << 20;
+        for (int numThreads = 1; numThreads <= 8; numThreads *= 2) {
+            MultiQueue<Integer> queue = new MultiQueue<>(numThreads, 2);
+            AtomicIntegerArray hits = new AtomicIntegerArray(total);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            final int perThread = total / numThreads;
+            Thread[] threads = new Thread[numThreads];
+            for (int t = 0; t < numThreads; t++) {
+                final int offset = t * perThread;
+                threads[t] = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perThread; i++) {
+                            queue.insert(offset + i);
+                        }
+                        for (int i = 0; i < perThread; i++) {
+                            hits.incrementAndGet(queue.removeMin());
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            if (failure.get() != null) {
+                throw new AssertionError(failure.get());
+            }
+            assertTrue(queue.isEmpty());
+            for (int i = 0; i < total; i++) {
+                assertEquals(1, hits.get(i));
+            }
+        }
+    }
+}
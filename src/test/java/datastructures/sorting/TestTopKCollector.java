@@ -0,0 +1,187 @@
+package datastructures.sorting;
+
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.DoubleTopKCollector;
+import misc.TopKCollector;
+import misc.TopKCollectors;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+public class TestTopKCollector extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testKeepsLargestAcrossBatches() {
+        TopKCollector<Integer> collector = new TopKCollector<>(10);
+        for (int batch = 0; batch < 5; batch++) {
+            for (int i = 0; i < 200; i++) {
+                collector.accept(((batch * 200 + i) * 7919) % 1000);
+            }
+        }
+        assertEquals(10, collector.size());
+        IList<Integer> top = collector.drainSorted();
+        assertEquals(10, top.size());
+        int expected = 990;
+        for (int value : top) {
+            assertEquals(expected++, value);
+        }
+        assertEquals(0, collector.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testCapacityNeverExceedsK() {
+        TopKCollector<Integer> small = new TopKCollector<>(100);
+        assertEquals(100, small.getCapacity());
+        for (int i = 0; i < 1000; i++) {
+            small.accept(i);
+        }
+        assertEquals(100, small.getCapacity());
+
+        TopKCollector<Integer> large = new TopKCollector<>(5000);
+        assertEquals(1024, large.getCapacity());
+        for (int i = 0; i < 3000; i++) {
+            large.accept(i);
+        }
+        assertEquals(4096, large.getCapacity());
+        for (int i = 3000; i < 10000; i++) {
+            large.accept(i);
+        }
+        assertEquals(5000, large.getCapacity());
+        large.drainSorted(new Integer[5000]);
+        assertEquals(5000, large.getCapacity());
+    }
+
+    @Test(timeout=SECOND)
+    public void testResetAndReuse() {
+        TopKCollector<Integer> collector = new TopKCollector<>(3);
+        for (int i = 0; i < 100; i++) {
+            collector.accept(i);
+        }
+        collector.reset();
+        assertEquals(0, collector.size());
+        collector.accept(5);
+        collector.accept(1);
+        Integer[] out = collector.drainSorted(new Integer[collector.size()]);
+        assertEquals(2, out.length);
+        assertEquals(1, out[0]);
+        assertEquals(5, out[1]);
+
+        TopKCollector<Integer> none = new TopKCollector<>(0);
+        none.accept(4);
+        assertEquals(0, none.size());
+        try {
+            collector.accept(null);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+        try {
+            new TopKCollector<Integer>(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testPrimitiveCollector() {
+        DoubleTopKCollector collector = new DoubleTopKCollector(50);
+        int[] ids = new int[50];
+        double[] scores = new double[50];
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 1000; i++) {
+                int id = (i * 7919) % 1000;
+                collector.accept(id, id * 0.5);
+            }
+            assertEquals(950 * 0.5, collector.peekMinScore(), 0.0);
+            assertEquals(50, collector.drainSorted(ids, scores));
+            for (int i = 0; i < 50; i++) {
+                assertEquals(950 + i, ids[i]);
+                assertEquals((950 + i) * 0.5, scores[i], 0.0);
+            }
+            assertEquals(0, collector.size());
+        }
+
+        collector.accept(1, 1.0);
+        collector.reset();
+        assertEquals(0, collector.drainSorted(new int[0], new double[0]));
+        try {
+            collector.accept(1, Double.NaN);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testStreamCollectors() {
+        IList<Integer> top = IntStream.range(0, 100000).parallel()
+                .map(i -> (int) ((i * 7919L) % 100000))
+                .boxed()
+                .collect(TopKCollectors.topK(100));
+        assertEquals(100, top.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(99900 + i, top.get(i));
+        }
+
+        // Largest by reversed order means the smallest values, largest of them first
+        IList<Integer> smallest = IntStream.range(0, 5000).parallel().boxed()
+                .collect(TopKCollectors.topK(3, Comparator.<Integer>reverseOrder()));
+        assertEquals(2, smallest.get(0));
+        assertEquals(0, smallest.get(2));
+
+        IList<String> longest = IntStream.range(1, 1000).parallel()
+                .mapToObj(i -> new String(new char[i % 500]))
+                .collect(TopKCollectors.topK(4, String::length));
+        assertEquals(4, longest.size());
+        assertEquals(499, longest.get(3).length());
+        assertEquals(498, longest.get(0).length());
+
+        assertEquals(0, IntStream.range(0, 10).boxed().collect(TopKCollectors.topK(0)).size());
+        assertEquals(10, IntStream.range(0, 10).boxed().collect(TopKCollectors.topK(50)).size());
+        try {
+            TopKCollectors.topK(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5*SECOND)
+    public void testHugeKAndMerge() {
+        // A k far larger than the input must not reserve k slots up front, not even per task
+        IList<Integer> all = IntStream.range(0, 20000).parallel().boxed()
+                .collect(TopKCollectors.topK(Integer.MAX_VALUE));
+        assertEquals(20000, all.size());
+        assertEquals(0, all.get(0));
+        assertEquals(19999, all.get(19999));
+        assertEquals(20000, IntStream.range(0, 20000).parallel().boxed()
+                .collect(TopKCollectors.topK(Integer.MAX_VALUE, Comparator.<Integer>naturalOrder())).size());
+        assertEquals(20000, IntStream.range(0, 20000).parallel().boxed()
+                .collect(TopKCollectors.topK(Integer.MAX_VALUE, i -> i)).size());
+
+        TopKCollector<Integer> first = new TopKCollector<>(5);
+        TopKCollector<Integer> second = new TopKCollector<>(5);
+        for (int i = 0; i < 20; i++) {
+            if (i % 2 == 0) {
+                first.accept(i);
+            } else {
+                second.accept(i);
+            }
+        }
+        first.merge(second);
+        assertEquals(0, second.size());
+        IList<Integer> merged = first.drainSorted();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(15 + i, merged.get(i));
+        }
+        try {
+            first.merge(first);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // All ok -- expected result
+        }
+    }
+}
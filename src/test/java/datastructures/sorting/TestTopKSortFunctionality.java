@@ -3,10 +3,13 @@ package datastructures.sorting;
 import misc.BaseTest;
 import datastructures.concrete.DoubleLinkedList;
 import datastructures.interfaces.IList;
+import misc.RadixSort;
 import misc.Searcher;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Random;
+
 /**
  * See spec for details on what kinds of tests this class should include.
  */
@@ -143,4 +146,164 @@ public class TestTopKSortFunctionality extends BaseTest {
             assertEquals(i, list.get(i));
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testFullSort() {
+        IList<Integer> list = new DoubleLinkedList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.add((i * 7919) % 1000);
+        }
+        IList<Integer> sorted = Searcher.topKSort(5000, list);
+        assertEquals(1000, sorted.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, sorted.get(i));
+        }
+        assertEquals(0, list.get(0));
+        assertEquals(919, list.get(1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testTopKSortByKey() {
+        IList<String> list = new DoubleLinkedList<>();
+        String[] words = {"ccc", "a", "eeeee", "bb", "dddd", "xx", ""};
+        for (String word : words) {
+            list.add(word);
+        }
+        IList<String> top = Searcher.topKSort(4, list, String::length);
+        assertEquals(4, top.size());
+        // "bb" and "xx" tie, so they keep their input order
+        assertEquals("xx", top.get(0));
+        assertEquals("ccc", top.get(1));
+        assertEquals("dddd", top.get(2));
+        assertEquals("eeeee", top.get(3));
+
+        IList<String> all = Searcher.topKSort(100, list, String::length);
+        assertEquals(7, all.size());
+        assertEquals("", all.get(0));
+        assertEquals("bb", all.get(2));
+        assertEquals(0, Searcher.topKSort(0, list, String::length).size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRadixSortOrder() {
+        double[] keys = new double[5000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((i * 7919) % 2500 - 1250) * 0.25;
+        }
+        keys[10] = Double.NEGATIVE_INFINITY;
+        keys[20] = Double.POSITIVE_INFINITY;
+        keys[30] = -0.0;
+        int[] order = RadixSort.sortedOrder(keys, keys.length);
+        assertEquals(10, order[0]);
+        assertEquals(20, order[order.length - 1]);
+        for (int i = 1; i < order.length; i++) {
+            Assert.assertTrue(keys[order[i - 1]] <= keys[order[i]]);
+            if (keys[order[i - 1]] == keys[order[i]]) {
+                // Equal keys keep their original order
+                Assert.assertTrue(order[i - 1] < order[i]);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testEveryStrategyAgrees() {
+        // Random values with many duplicates, so both the streaming heap and selection get used
+        Random random = new Random(42);
+        IList<Integer> list = new DoubleLinkedList<>();
+        int[] counts = new int[100];
+        for (int i = 0; i < 2000; i++) {
+            int value = random.nextInt(100);
+            list.add(value);
+            counts[value]++;
+        }
+        for (int k = 1; k < 2000; k += 37) {
+            IList<Integer> top = Searcher.topKSort(k, list);
+            assertEquals(k, top.size());
+            // Rebuild the expected answer from the counts, largest values first
+            int[] expected = new int[k];
+            int filled = k;
+            for (int value = 99; value >= 0 && filled > 0; value--) {
+                for (int c = 0; c < counts[value] && filled > 0; c++) {
+                    expected[--filled] = value;
+                }
+            }
+            for (int i = 0; i < k; i++) {
+                assertEquals(expected[i], top.get(i));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testSelectionOnSortedAndEqualInput() {
+        IList<Integer> ascending = new DoubleLinkedList<>();
+        IList<Integer> same = new DoubleLinkedList<>();
+        for (int i = 0; i < 10000; i++) {
+            ascending.add(i);
+            same.add(7);
+        }
+        IList<Integer> top = Searcher.topKSort(5000, ascending);
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(5000 + i, top.get(i));
+        }
+        top = Searcher.topKSort(3000, same);
+        assertEquals(3000, top.size());
+        for (int value : top) {
+            assertEquals(7, value);
+        }
+    }
+
+    /**
+     * Compares by key only, so that entries with the same key but different ids tie.
+     */
+    private static class Entry implements Comparable<Entry> {
+        private final int key;
+        private final int id;
+
+        Entry(int key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Integer.compare(this.key, other.key);
+        }
+    }
+
+    @Test(timeout=10*SECOND)
+    public void testParallelTopKIsStable() {
+        Random random = new Random(7);
+        IList<Entry> list = new DoubleLinkedList<>();
+        int n = 300000;
+        for (int i = 0; i < n; i++) {
+            list.add(new Entry(random.nextInt(1000), i));
+        }
+        for (int k : new int[] {0, 1, 10, 500, 5000, 100000, n}) {
+            IList<Entry> top = Searcher.parallelTopKSort(k, list);
+            assertEquals(k, top.size());
+            Entry previous = null;
+            for (Entry entry : top) {
+                if (previous != null) {
+                    Assert.assertTrue(previous.key < entry.key
+                            || (previous.key == entry.key && previous.id < entry.id));
+                }
+                previous = entry;
+            }
+            if (k > 0) {
+                // Among entries tied at the cutoff, the latest ones must be kept
+                Entry cutoff = top.get(0);
+                int laterTies = 0;
+                int greater = 0;
+                for (Entry entry : list) {
+                    if (entry.key > cutoff.key) {
+                        greater++;
+                    } else if (entry.key == cutoff.key && entry.id >= cutoff.id) {
+                        laterTies++;
+                    }
+                }
+                assertEquals(k, greater + laterTies);
+            }
+        }
+        assertEquals(null, Searcher.parallelTopKSort(3, (IList<Entry>) null));
+    }
 }
@@ -0,0 +1,101 @@
+package misc.benchmarks;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.ConcurrentHashDictionary;
+import datastructures.interfaces.IDictionary;
+
+import java.util.Arrays;
+
+/**
+ * Times ConcurrentHashDictionary against a ChainedHashDictionary behind one lock, with 1 to 8
+ * threads sharing the same total work: mostly lookups, with one merge in every eight operations.
+ *
+ * This is not a unit test: run its main method by hand. Each configuration is run a few times
+ * to warm up the JIT, then timed over several rounds, and the median time of each is printed.
+ */
+public class ConcurrentDictionaryBenchmark {
+    private static final int TOTAL = 1 << 21;
+    private static final int NUM_KEYS = 1 << 14;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int TIMED_ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %14s %14s%n", "threads", "locked ms", "concurrent ms");
+        for (int numThreads = 1; numThreads <= 8; numThreads *= 2) {
+            double locked = median(numThreads, false);
+            double concurrent = median(numThreads, true);
+            System.out.printf("%-8d %14.1f %14.1f%n", numThreads, locked, concurrent);
+        }
+    }
+
+    /**
+     * Helper method that returns the median time, in milliseconds, of one configuration
+     */
+    private static double median(int numThreads, boolean concurrent) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(numThreads, concurrent);
+        }
+        double[] times = new double[TIMED_ROUNDS];
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            run(numThreads, concurrent);
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[TIMED_ROUNDS / 2];
+    }
+
+    /**
+     * Helper method where every thread runs its share of the operations on one shared
+     * dictionary, which is either thread-safe itself or guarded by a lock around each operation
+     */
+    private static void run(int numThreads, boolean concurrent) throws InterruptedException {
+        IDictionary<Integer, Integer> dict = concurrent
+                ? new ConcurrentHashDictionary<>()
+                : new ChainedHashDictionary<>();
+        for (int key = 0; key < NUM_KEYS; key++) {
+            dict.put(key, 0);
+        }
+        int perThread = TOTAL / numThreads;
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int seed = t * 0x9e3779b9 + 1;
+            threads[t] = new Thread(() -> {
+                int state = seed;
+                for (int i = 0; i < perThread; i++) {
+                    state ^= state << 13;
+                    state ^= state >>> 17;
+                    state ^= state << 5;
+                    int key = (state >>> 1) % NUM_KEYS;
+                    if (concurrent) {
+                        operate(dict, key, i);
+                    } else {
+                        synchronized (dict) {
+                            operate(dict, key, i);
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int updates = 0;
+        for (int key = 0; key < NUM_KEYS; key++) {
+            updates += dict.get(key);
+        }
+        if (updates != numThreads * ((perThread + 7) / 8)) {
+            throw new IllegalStateException("ERROR: Lost an update!");
+        }
+    }
+
+    private static void operate(IDictionary<Integer, Integer> dict, int key, int i) {
+        if ((i & 7) == 0) {
+            dict.merge(key, 1, Integer::sum);
+        } else if (!dict.containsKey(key)) {
+            throw new IllegalStateException("ERROR: Missing key!");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package misc.benchmarks;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.RobinHoodHashDictionary;
+import datastructures.interfaces.IDictionary;
+import mazes.entities.LineSegment;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+
+import java.awt.Point;
+import java.awt.Polygon;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Times ChainedHashDictionary against RobinHoodHashDictionary on the maze's own key types:
+ * the points, rooms, and walls of a square grid of rooms.
+ *
+ * This is not a unit test: run its main method by hand. Each workload is run a few times to
+ * warm up the JIT, then timed over several rounds, and the median time of each is printed.
+ * One round puts every key, looks every key up, looks up as many missing keys, and then
+ * removes every key.
+ */
+public class HashDictionaryBenchmark {
+    private static final int SIDE = 300;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int TIMED_ROUNDS = 7;
+    // Every run adds its result here, so the JIT can not discard the work being timed
+    private static long sink;
+
+    public static void main(String[] args) {
+        Point[] points = new Point[SIDE * SIDE];
+        Point[] missingPoints = new Point[points.length];
+        Room[] rooms = new Room[points.length];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(i % SIDE * 10, i / SIDE * 10);
+            missingPoints[i] = new Point(points[i].x + 1, points[i].y);
+            rooms[i] = new Room(points[i], new Polygon());
+        }
+        Room[] missingRooms = new Room[rooms.length];
+        for (int i = 0; i < rooms.length; i++) {
+            missingRooms[i] = new Room(missingPoints[i], new Polygon());
+        }
+        Wall[] walls = new Wall[rooms.length - 1];
+        Wall[] missingWalls = new Wall[walls.length];
+        for (int i = 0; i < walls.length; i++) {
+            walls[i] = new Wall(rooms[i], rooms[i + 1],
+                    new LineSegment(rooms[i].getCenter(), rooms[i + 1].getCenter()));
+            missingWalls[i] = new Wall(rooms[i + 1], missingRooms[i],
+                    new LineSegment(rooms[i + 1].getCenter(), missingRooms[i].getCenter()));
+        }
+
+        System.out.printf("%-8s %12s %12s%n", "keys", "chained ms", "robinhood ms");
+        report("Point", points, missingPoints);
+        report("Room", rooms, missingRooms);
+        report("Wall", walls, missingWalls);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static <K> void report(String name, K[] keys, K[] missing) {
+        double chained = median(() -> new ChainedHashDictionary<K, Integer>(), keys, missing);
+        double robinHood = median(() -> new RobinHoodHashDictionary<K, Integer>(), keys, missing);
+        System.out.printf("%-8s %12.1f %12.1f%n", name, chained, robinHood);
+    }
+
+    /**
+     * Helper method that returns the median time, in milliseconds, of one round on
+     * dictionaries made by the given supplier
+     */
+    private static <K> double median(Supplier<IDictionary<K, Integer>> supplier, K[] keys, K[] missing) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += run(supplier.get(), keys, missing);
+        }
+        double[] times = new double[TIMED_ROUNDS];
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            IDictionary<K, Integer> dict = supplier.get();
+            long start = System.nanoTime();
+            sink += run(dict, keys, missing);
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[TIMED_ROUNDS / 2];
+    }
+
+    private static <K> long run(IDictionary<K, Integer> dict, K[] keys, K[] missing) {
+        long checksum = 0;
+        for (int i = 0; i < keys.length; i++) {
+            dict.put(keys[i], i);
+        }
+        for (K key : keys) {
+            checksum += dict.get(key);
+        }
+        for (K key : missing) {
+            if (dict.containsKey(key)) {
+                checksum++;
+            }
+        }
+        for (K key : keys) {
+            checksum += dict.remove(key);
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,81 @@
+package misc.benchmarks;
+
+import datastructures.concrete.ArrayHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Times ArrayHeap with every supported arity, to back the choice of its default.
+ *
+ * This is not a unit test: run its main method by hand. Each workload is run a few times to
+ * warm up the JIT, then timed over several rounds, and the median time of each is printed.
+ */
+public class HeapArityBenchmark {
+    private static final int[] ARITIES = {2, 4, 8, 16};
+    private static final int SIZE = 1000000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int TIMED_ROUNDS = 7;
+    // Every run adds its result here, so the JIT can not discard the work being timed
+    private static long sink;
+
+    public static void main(String[] args) {
+        Integer[] items = new Integer[SIZE];
+        Random random = new Random(312);
+        for (int i = 0; i < SIZE; i++) {
+            items[i] = random.nextInt();
+        }
+
+        System.out.printf("%-6s %14s %14s%n", "arity", "fill+drain ms", "churn ms");
+        for (int arity : ARITIES) {
+            double fillAndDrain = median(arity, items, true);
+            double churn = median(arity, items, false);
+            System.out.printf("%-6d %14.1f %14.1f%n", arity, fillAndDrain, churn);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Helper method that returns the median time, in milliseconds, of one of the workloads
+     */
+    private static double median(int arity, Integer[] items, boolean fillAndDrain) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += run(arity, items, fillAndDrain);
+        }
+        double[] times = new double[TIMED_ROUNDS];
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            sink += run(arity, items, fillAndDrain);
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[TIMED_ROUNDS / 2];
+    }
+
+    /**
+     * Helper method that either inserts every item and removes them all again, or keeps a heap
+     * of a tenth of the items and replaces its minimum with each of the others in turn
+     */
+    private static long run(int arity, Integer[] items, boolean fillAndDrain) {
+        ArrayHeap<Integer> heap = new ArrayHeap<>(0, arity);
+        long checksum = 0;
+        if (fillAndDrain) {
+            for (Integer item : items) {
+                heap.insert(item);
+            }
+            while (!heap.isEmpty()) {
+                checksum += heap.removeMin();
+            }
+        } else {
+            int base = items.length / 10;
+            for (int i = 0; i < base; i++) {
+                heap.insert(items[i]);
+            }
+            for (int i = base; i < items.length; i++) {
+                checksum += heap.removeMin();
+                heap.insert(items[i]);
+            }
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,113 @@
+package misc.benchmarks;
+
+import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.MultiQueue;
+import datastructures.interfaces.IPriorityQueue;
+
+import java.util.Arrays;
+
+/**
+ * Times MultiQueue against a single ArrayHeap behind one lock, with 1 to 8 threads pushing
+ * the same total work through the queue.
+ *
+ * This is not a unit test: run its main method by hand. Each configuration is run a few times
+ * to warm up the JIT, then timed over several rounds, and the median time of each is printed.
+ */
+public class MultiQueueBenchmark {
+    private static final int TOTAL = 1 << 20;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int TIMED_ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-8s %14s %14s%n", "threads", "locked ms", "multiqueue ms");
+        for (int numThreads = 1; numThreads <= 8; numThreads *= 2) {
+            double locked = median(numThreads, false);
+            double multi = median(numThreads, true);
+            System.out.printf("%-8d %14.1f %14.1f%n", numThreads, locked, multi);
+        }
+    }
+
+    /**
+     * Helper method that returns the median time, in milliseconds, of one configuration
+     */
+    private static double median(int numThreads, boolean multiQueue) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(numThreads, multiQueue);
+        }
+        double[] times = new double[TIMED_ROUNDS];
+        for (int i = 0; i < TIMED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            run(numThreads, multiQueue);
+            times[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(times);
+        return times[TIMED_ROUNDS / 2];
+    }
+
+    /**
+     * Helper method where every thread inserts its share of the elements and then removes as
+     * many again
+     */
+    private static void run(int numThreads, boolean multiQueue) throws InterruptedException {
+        IPriorityQueue<Integer> queue = multiQueue
+                ? new MultiQueue<>(numThreads, 2)
+                : new LockedQueue<>(new ArrayHeap<Integer>());
+        int perThread = TOTAL / numThreads;
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int offset = t * perThread;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    queue.insert(offset + i);
+                }
+                for (int i = 0; i < perThread; i++) {
+                    queue.removeMin();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!queue.isEmpty()) {
+            throw new IllegalStateException("ERROR: Queue should be empty!");
+        }
+    }
+
+    /**
+     * The baseline: any priority queue with every method synchronized on one lock.
+     */
+    private static class LockedQueue<T extends Comparable<T>> implements IPriorityQueue<T> {
+        private final IPriorityQueue<T> queue;
+
+        LockedQueue(IPriorityQueue<T> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public synchronized T removeMin() {
+            return queue.removeMin();
+        }
+
+        @Override
+        public synchronized T peekMin() {
+            return queue.peekMin();
+        }
+
+        @Override
+        public synchronized void insert(T item) {
+            queue.insert(item);
+        }
+
+        @Override
+        public synchronized void remove(T item) {
+            queue.remove(item);
+        }
+
+        @Override
+        public synchronized int size() {
+            return queue.size();
+        }
+    }
+}